@@ -0,0 +1,12 @@
+package com.quckapp.admin.cache;
+
+/**
+ * A cached value with the wall-clock time it was loaded, shared by all nodes through Redis
+ * so every node agrees on when an entry is due for refresh.
+ */
+public record CacheEnvelope(Object value, long writtenAt) {
+
+    public long ageMillis(long now) {
+        return now - writtenAt;
+    }
+}
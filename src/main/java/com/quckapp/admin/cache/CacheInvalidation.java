@@ -0,0 +1,18 @@
+package com.quckapp.admin.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * One invalidation of a named cache: a single key, or every entry when {@code key} is {@code null}.
+ */
+public record CacheInvalidation(String cacheName, String key) {
+
+    public static CacheInvalidation allEntries(String cacheName) {
+        return new CacheInvalidation(cacheName, null);
+    }
+
+    @JsonIgnore
+    public boolean isAllEntries() {
+        return key == null;
+    }
+}
@@ -0,0 +1,217 @@
+package com.quckapp.admin.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Propagates local-tier invalidations between replicas over Redis pub/sub.
+ *
+ * Invalidations raised inside a transaction are held until it commits and dropped on rollback.
+ * Everything queued within one batch window is coalesced (an all-entries invalidation absorbs
+ * single keys of the same cache) and sent as as few messages as possible, each numbered with
+ * a per-node sequence. A receiver that sees a sequence jump flushes all of its local tiers.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    private static final Object TRANSACTION_BUFFER_KEY = new Object();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheProperties.Invalidation settings;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Queue<CacheInvalidation> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-invalidation-bus");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only touched on the sender thread
+    private long lastSentSeq;
+
+    private final Map<String, RemoteNode> remoteNodes = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher, CacheProperties.Invalidation settings) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.settings = settings;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getChannel() {
+        return settings.getChannel();
+    }
+
+    // ===== Publishing =====
+
+    public void publish(CacheInvalidation invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionBuffer().add(invalidation);
+        } else {
+            enqueue(List.of(invalidation));
+        }
+    }
+
+    private Set<CacheInvalidation> transactionBuffer() {
+        @SuppressWarnings("unchecked")
+        Set<CacheInvalidation> buffer = (Set<CacheInvalidation>) TransactionSynchronizationManager.getResource(TRANSACTION_BUFFER_KEY);
+        if (buffer == null) {
+            Set<CacheInvalidation> created = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(TRANSACTION_BUFFER_KEY, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_BUFFER_KEY);
+                }
+            });
+            buffer = created;
+        }
+        return buffer;
+    }
+
+    private void enqueue(Iterable<CacheInvalidation> invalidations) {
+        invalidations.forEach(pending::add);
+        if (flushScheduled.compareAndSet(false, true)) {
+            sender.schedule(this::flush, settings.getBatchWindow().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        List<CacheInvalidation> batch = coalesce();
+        int maxBatchSize = settings.getMaxBatchSize();
+        for (int from = 0; from < batch.size(); from += maxBatchSize) {
+            send(batch.subList(from, Math.min(batch.size(), from + maxBatchSize)));
+        }
+    }
+
+    private List<CacheInvalidation> coalesce() {
+        Set<String> clearedCaches = new HashSet<>();
+        Set<CacheInvalidation> drained = new LinkedHashSet<>();
+        CacheInvalidation next;
+        while ((next = pending.poll()) != null) {
+            drained.add(next);
+            if (next.isAllEntries()) clearedCaches.add(next.cacheName());
+        }
+        List<CacheInvalidation> batch = new ArrayList<>(drained.size());
+        for (CacheInvalidation invalidation : drained) {
+            if (invalidation.isAllEntries() || !clearedCaches.contains(invalidation.cacheName())) {
+                batch.add(invalidation);
+            }
+        }
+        return batch;
+    }
+
+    private void send(List<CacheInvalidation> invalidations) {
+        // A sequence number is consumed even if the send fails, so receivers detect the loss
+        long seq = ++lastSentSeq;
+        try {
+            String payload = objectMapper.writeValueAsString(
+                new CacheInvalidationMessage(nodeId, seq, List.copyOf(invalidations)));
+            redisTemplate.convertAndSend(settings.getChannel(), payload);
+        } catch (Exception e) {
+            log.warn("Failed to publish {} cache invalidations (seq {}): {}", invalidations.size(), seq, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${caching.invalidation.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        sender.execute(() -> {
+            try {
+                String payload = objectMapper.writeValueAsString(new CacheInvalidationMessage(nodeId, lastSentSeq, List.of()));
+                redisTemplate.convertAndSend(settings.getChannel(), payload);
+            } catch (Exception e) {
+                log.debug("Failed to publish cache invalidation heartbeat: {}", e.getMessage());
+            }
+        });
+        long staleBefore = System.currentTimeMillis() - settings.getNodeExpiry().toMillis();
+        remoteNodes.values().removeIf(node -> node.lastSeenAt < staleBefore);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+    }
+
+    // ===== Receiving =====
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage received;
+        try {
+            received = objectMapper.readValue(message.getBody(), CacheInvalidationMessage.class);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(received.node())) {
+            return;
+        }
+
+        RemoteNode node = remoteNodes.computeIfAbsent(received.node(), id -> new RemoteNode());
+        boolean gap;
+        synchronized (node) {
+            node.lastSeenAt = System.currentTimeMillis();
+            if (node.lastSeq < 0) {
+                // First contact: anything the node sent earlier predates our local tiers
+                gap = false;
+            } else if (received.seq() <= node.lastSeq) {
+                if (!received.isHeartbeat()) return;
+                gap = false;
+            } else {
+                // A heartbeat ahead of us, or a message more than one ahead, means messages were lost
+                gap = received.isHeartbeat() || received.seq() > node.lastSeq + 1;
+            }
+            node.lastSeq = Math.max(node.lastSeq, received.seq());
+        }
+
+        if (gap) {
+            log.warn("Lost cache invalidations from node {}, flushing local caches", received.node());
+            eventPublisher.publishEvent(RemoteCacheInvalidationEvent.flushAllEvent());
+        } else if (!received.isHeartbeat()) {
+            eventPublisher.publishEvent(new RemoteCacheInvalidationEvent(received.invalidations(), false));
+        }
+    }
+
+    private static final class RemoteNode {
+        long lastSeq = -1;
+        long lastSeenAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.quckapp.admin.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+/**
+ * Payload published on the invalidation channel. {@code seq} increases by one per message of a node;
+ * heartbeats repeat the last sequence number with no invalidations so receivers notice a lost tail.
+ */
+public record CacheInvalidationMessage(String node, long seq, List<CacheInvalidation> invalidations) {
+
+    @JsonIgnore
+    public boolean isHeartbeat() {
+        return invalidations == null || invalidations.isEmpty();
+    }
+}
@@ -0,0 +1,110 @@
+package com.quckapp.admin.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache settings for the two-tier cache, bound from {@code caching.*}.
+ *
+ * Each named cache inherits any value it does not set from {@code caching.defaults}.
+ */
+@Data
+@ConfigurationProperties(prefix = "caching")
+public class CacheProperties {
+
+    private Spec defaults = new Spec(Duration.ofMinutes(30), Duration.ofSeconds(30), 1_000L, Duration.ZERO, Duration.ZERO);
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+    private Invalidation invalidation = new Invalidation();
+    private Codec codec = new Codec();
+    /** How long concurrent callers wait for another caller's load of the same key before loading themselves. */
+    private Duration loadWaitTimeout = Duration.ofSeconds(3);
+    private Refresh refresh = new Refresh();
+    private Warmup warmup = new Warmup();
+
+    public Spec resolve(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        if (spec == null) {
+            return defaults;
+        }
+        return new Spec(
+            spec.getTtl() != null ? spec.getTtl() : defaults.getTtl(),
+            spec.getLocalTtl() != null ? spec.getLocalTtl() : defaults.getLocalTtl(),
+            spec.getLocalMaxSize() != null ? spec.getLocalMaxSize() : defaults.getLocalMaxSize(),
+            spec.getRefreshAhead() != null ? spec.getRefreshAhead() : defaults.getRefreshAhead(),
+            spec.getStaleGrace() != null ? spec.getStaleGrace() : defaults.getStaleGrace()
+        );
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+        /** Time to live in Redis (L2). */
+        private Duration ttl;
+        /** Time to live in the in-process L1; a zero duration disables L1 for the cache. */
+        private Duration localTtl;
+        /** Maximum number of entries held in L1. */
+        private Long localMaxSize;
+        /** Entries read within this window before their ttl are reloaded in the background. */
+        private Duration refreshAhead;
+        /** After their ttl, entries may still be served for this long if reloading is slow or fails. */
+        private Duration staleGrace;
+
+        /** How long Redis keeps an entry: its ttl plus the stale grace period. */
+        public Duration remoteRetention() {
+            return staleGrace == null ? ttl : ttl.plus(staleGrace);
+        }
+
+        public boolean isLocalEnabled() {
+            return localTtl != null && !localTtl.isZero() && localMaxSize != null && localMaxSize > 0;
+        }
+    }
+
+    @Data
+    public static class Invalidation {
+        /** Redis pub/sub channel shared by all replicas. */
+        private String channel = "admin-service:cache-invalidation";
+        /** How long invalidations are collected before they are sent as one message. */
+        private Duration batchWindow = Duration.ofMillis(5);
+        /** Maximum invalidations per message. */
+        private int maxBatchSize = 500;
+        /** A silent node is forgotten after this long. */
+        private Duration nodeExpiry = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Codec {
+        /** Format used for new Redis entries; both formats are always readable. */
+        private Format writeFormat = Format.COMPACT;
+        /** Encoded values at least this many bytes are LZ4-compressed. */
+        private int compressionThreshold = 512;
+
+        public enum Format {
+            COMPACT, JSON
+        }
+    }
+
+    @Data
+    public static class Refresh {
+        /** Threads reloading entries in the background; kept apart from request threads. */
+        private int threads = 2;
+        /** Refreshes queued beyond this are dropped; the entry is then refreshed on a later read. */
+        private int queueCapacity = 100;
+    }
+
+    @Data
+    public static class Warmup {
+        /** Preload the hot caches after startup; readiness is held until this finishes or times out. */
+        private boolean enabled = true;
+        /** Parallel loads during warm-up. */
+        private int threads = 4;
+        /** After this long the pod reports ready and the rest loads on demand. */
+        private Duration timeout = Duration.ofSeconds(60);
+    }
+}
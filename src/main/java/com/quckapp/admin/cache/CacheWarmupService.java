@@ -0,0 +1,216 @@
+package com.quckapp.admin.cache;
+
+import com.quckapp.admin.dto.AdminDtos.FeatureFlagResponse;
+import com.quckapp.admin.dto.AdminDtos.SystemSettingResponse;
+import com.quckapp.admin.service.FeatureFlagService;
+import com.quckapp.admin.service.ServiceUrlManagementService;
+import com.quckapp.admin.service.SystemSettingsService;
+import com.quckapp.admin.service.VersionService;
+import com.quckapp.admin.service.version.PublicVersionMapHolder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preloads the hot caches after startup and holds the readiness probe until it is done.
+ *
+ * Loads go through the services' cached methods, so entries land in both tiers exactly as a
+ * request would put them there; public version maps are materialized in their holder. Work runs
+ * on a small dedicated pool; when the configured timeout passes the pod is reported ready anyway
+ * and the remaining entries load on demand.
+ */
+@Component("cacheWarmup")
+@Slf4j
+public class CacheWarmupService implements HealthIndicator {
+
+    public enum State { PENDING, RUNNING, COMPLETED, TIMED_OUT, DISABLED }
+
+    private final FeatureFlagService featureFlagService;
+    private final SystemSettingsService settingsService;
+    private final ServiceUrlManagementService serviceUrlService;
+    private final VersionService versionService;
+    private final PublicVersionMapHolder versionMapHolder;
+    private final CacheProperties.Warmup settings;
+    private final Timer duration;
+
+    private final Map<String, AtomicLong> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile State state;
+
+    public CacheWarmupService(FeatureFlagService featureFlagService,
+                              SystemSettingsService settingsService,
+                              ServiceUrlManagementService serviceUrlService,
+                              VersionService versionService,
+                              PublicVersionMapHolder versionMapHolder,
+                              CacheProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.featureFlagService = featureFlagService;
+        this.settingsService = settingsService;
+        this.serviceUrlService = serviceUrlService;
+        this.versionService = versionService;
+        this.versionMapHolder = versionMapHolder;
+        this.settings = properties.getWarmup();
+        this.state = settings.isEnabled() ? State.PENDING : State.DISABLED;
+        this.duration = Timer.builder("cache.warmup.duration")
+            .description("Time taken by the startup cache warm-up")
+            .register(meterRegistry);
+        for (String cache : List.of("featureFlags", "systemSettings", "serviceUrls", "infrastructure", "environmentSummaries", "publicVersionMap")) {
+            AtomicLong count = entries.computeIfAbsent(cache, c -> new AtomicLong());
+            Gauge.builder("cache.warmup.entries", count, AtomicLong::get)
+                .tag("cache", cache)
+                .description("Entries preloaded by the startup cache warm-up")
+                .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (state != State.PENDING) return;
+        Thread coordinator = new Thread(this::warmUp, "cache-warmup");
+        coordinator.setDaemon(true);
+        coordinator.start();
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = switch (state) {
+            case PENDING, RUNNING -> Health.outOfService();
+            case COMPLETED, TIMED_OUT, DISABLED -> Health.up();
+        };
+        builder.withDetail("state", state);
+        entries.forEach((cache, count) -> builder.withDetail(cache, count.get()));
+        if (failures.get() > 0) {
+            builder.withDetail("failures", failures.get());
+        }
+        return builder.build();
+    }
+
+    void warmUp() {
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(settings.getThreads(), r -> {
+            Thread thread = new Thread(r, "cache-warmup-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Void>> tasks = Collections.synchronizedList(new ArrayList<>());
+            // Flag and setting keys are listed first, then each key is loaded through its cached method
+            tasks.add(list(pool, "featureFlags", () -> {
+                for (FeatureFlagResponse flag : featureFlagService.getAllFlags()) {
+                    tasks.add(submit(pool, "featureFlags", () -> featureFlagService.getFlagByKey(flag.getFeatureKey())));
+                }
+            }));
+            tasks.add(list(pool, "systemSettings", () -> {
+                for (SystemSettingResponse setting : settingsService.getAllSettings()) {
+                    tasks.add(submit(pool, "systemSettings", () -> settingsService.getSettingByKey(setting.getSettingKey())));
+                }
+            }));
+            tasks.add(submit(pool, "environmentSummaries", serviceUrlService::getEnvironments));
+            for (String environment : ServiceUrlManagementService.VALID_ENVIRONMENTS) {
+                tasks.add(submit(pool, "serviceUrls", () -> serviceUrlService.getServiceUrlsByEnvironment(environment)));
+                tasks.add(submit(pool, "infrastructure", () -> serviceUrlService.getInfrastructureByEnvironment(environment)));
+            }
+            tasks.add(list(pool, "publicVersionMap", () -> {
+                Set<String> environments = new LinkedHashSet<>(ServiceUrlManagementService.VALID_ENVIRONMENTS);
+                environments.addAll(versionService.listConfiguredEnvironments());
+                for (String environment : environments) {
+                    tasks.add(submit(pool, "publicVersionMap", () -> versionMapHolder.get(environment)));
+                }
+            }));
+
+            awaitAll(tasks, System.nanoTime() + settings.getTimeout().toNanos());
+            state = State.COMPLETED;
+            log.info("Cache warm-up completed in {} ms: {}", elapsedMillis(start), entries);
+        } catch (TimeoutException e) {
+            state = State.TIMED_OUT;
+            log.warn("Cache warm-up timed out after {}, serving with partially warm caches: {}", settings.getTimeout(), entries);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = State.TIMED_OUT;
+        } finally {
+            pool.shutdownNow();
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private CompletableFuture<Void> submit(ExecutorService pool, String cache, Runnable load) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                load.run();
+                entries.get(cache).incrementAndGet();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                log.debug("Cache warm-up of {} entry failed: {}", cache, e.getMessage());
+            }
+        }, pool);
+    }
+
+    /**
+     * Runs a task that lists the keys of {@code cache}; if the listing fails none of them are preloaded.
+     */
+    private CompletableFuture<Void> list(ExecutorService pool, String cache, Runnable listing) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                listing.run();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                log.warn("Cache warm-up could not list {} entries, they will load on demand: {}", cache, e.getMessage());
+            }
+        }, pool);
+    }
+
+    /**
+     * Waits for every task, including tasks added by the listing tasks while waiting.
+     */
+    private static void awaitAll(List<CompletableFuture<Void>> tasks, long deadline)
+            throws TimeoutException, InterruptedException {
+        int done = 0;
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (tasks) {
+                if (done == tasks.size()) return;
+                next = tasks.get(done);
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) throw new TimeoutException();
+            try {
+                next.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                // Tasks count and log their own failures; keep waiting for the rest
+            }
+            done++;
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+}
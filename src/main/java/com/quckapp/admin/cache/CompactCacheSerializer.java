@@ -0,0 +1,263 @@
+package com.quckapp.admin.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis value serializer that writes registered DTOs (and lists of them) as Smile, LZ4-compressed
+ * above a size threshold, behind a small header:
+ * <pre>
+ * byte 0  magic 0xC7
+ * byte 1  format version
+ * byte 2  flags: 0x01 LZ4, 0x02 list, 0x04 JSON payload, 0x08 timestamp
+ * byte 3  type code from the registry (0 = empty list or JSON payload)
+ * [long   write time in epoch millis, only when the timestamp flag is set]
+ * [int    uncompressed length, only when LZ4 is set]
+ * payload
+ * </pre>
+ * A {@link CacheEnvelope} is written with the timestamp flag and read back as an envelope, also when
+ * compact writes are off (as an uncompressed JSON payload). Bare values of unregistered types are
+ * written with the JSON serializer. Version 1 entries lack flags 0x04/0x08 and are read by the same
+ * code. On read, anything without the magic byte is decoded as JSON (entries written before this
+ * codec), and a newer format version is treated as a cache miss, so mixed-version replicas never fail
+ * on each other's entries.
+ */
+@Slf4j
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC7;
+    static final byte FORMAT_VERSION = 2;
+
+    private static final int FLAG_LZ4 = 0x01;
+    private static final int FLAG_LIST = 0x02;
+    private static final int FLAG_JSON = 0x04;
+    private static final int FLAG_TIMESTAMP = 0x08;
+    private static final int HEADER_LENGTH = 4;
+    private static final int EMPTY_LIST_CODE = 0;
+
+    private final RedisSerializer<Object> jsonSerializer = jsonSerializer();
+    private final Map<Class<?>, Integer> codes = new HashMap<>();
+    private final Map<Integer, ObjectReader> valueReaders = new HashMap<>();
+    private final Map<Integer, ObjectReader> listReaders = new HashMap<>();
+    private final ObjectWriter writer;
+    private final boolean writeCompact;
+    private final int compressionThreshold;
+
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+    /**
+     * @param types                registered types; the position in the list (starting at 1) is the wire code,
+     *                             so new types may only be appended
+     * @param writeCompact         {@code false} keeps writing JSON while still reading both formats
+     * @param compressionThreshold payloads at least this large are LZ4-compressed
+     */
+    public CompactCacheSerializer(List<Class<?>> types, boolean writeCompact, int compressionThreshold) {
+        ObjectMapper smile = SmileMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+        this.writer = smile.writer();
+        for (int i = 0; i < types.size(); i++) {
+            int code = i + 1;
+            Class<?> type = types.get(i);
+            JavaType listType = smile.getTypeFactory().constructCollectionType(List.class, type);
+            codes.put(type, code);
+            valueReaders.put(code, smile.readerFor(type));
+            listReaders.put(code, smile.readerFor(listType));
+        }
+        this.writeCompact = writeCompact;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        Long writtenAt = null;
+        if (value instanceof CacheEnvelope envelope) {
+            value = envelope.value();
+            writtenAt = envelope.writtenAt();
+        }
+        if (!writeCompact) {
+            byte[] json = jsonSerializer.serialize(value);
+            if (writtenAt == null) {
+                return json;
+            }
+            // Envelopes keep the header in JSON mode too, or refresh-ahead would lose their write time
+            ByteBuffer out = ByteBuffer.allocate(HEADER_LENGTH + Long.BYTES + json.length);
+            writeHeader(out, FLAG_JSON | FLAG_TIMESTAMP, 0, writtenAt);
+            out.put(json);
+            return out.array();
+        }
+
+        int flags = 0;
+        Integer code;
+        if (value instanceof List<?> list) {
+            flags |= FLAG_LIST;
+            code = list.isEmpty() ? Integer.valueOf(EMPTY_LIST_CODE) : commonCode(list);
+        } else {
+            code = codes.get(value.getClass());
+        }
+
+        byte[] payload;
+        if (code == null) {
+            if (writtenAt == null) {
+                return jsonSerializer.serialize(value);
+            }
+            // Unregistered types still get the header so their write time survives
+            flags = FLAG_JSON;
+            code = 0;
+            payload = jsonSerializer.serialize(value);
+        } else {
+            try {
+                payload = writer.writeValueAsBytes(value);
+            } catch (IOException e) {
+                throw new SerializationException("Could not write compact cache value", e);
+            }
+        }
+        if (writtenAt != null) {
+            flags |= FLAG_TIMESTAMP;
+        }
+
+        int prefixLength = HEADER_LENGTH + (writtenAt != null ? Long.BYTES : 0);
+        if (payload.length >= compressionThreshold) {
+            byte[] compressed = new byte[compressor.maxCompressedLength(payload.length)];
+            int compressedLength = compressor.compress(payload, 0, payload.length, compressed, 0, compressed.length);
+            if (compressedLength + Integer.BYTES < payload.length) {
+                ByteBuffer out = ByteBuffer.allocate(prefixLength + Integer.BYTES + compressedLength);
+                writeHeader(out, flags | FLAG_LZ4, code, writtenAt);
+                out.putInt(payload.length);
+                out.put(compressed, 0, compressedLength);
+                return out.array();
+            }
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(prefixLength + payload.length);
+        writeHeader(out, flags, code, writtenAt);
+        out.put(payload);
+        return out.array();
+    }
+
+    /**
+     * Returns a {@link CacheEnvelope} for values written with a timestamp and the bare value otherwise.
+     */
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] > FORMAT_VERSION) {
+            // Written by a newer release; let the caller reload instead of failing
+            log.debug("Skipping cache value with unsupported format version {}", bytes.length > 1 ? bytes[1] : -1);
+            return null;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        in.position(2);
+        int flags = in.get();
+        int code = in.get() & 0xFF;
+        Long writtenAt = (flags & FLAG_TIMESTAMP) != 0 ? in.getLong() : null;
+
+        Object value;
+        boolean list = (flags & FLAG_LIST) != 0;
+        if (list && code == EMPTY_LIST_CODE) {
+            value = new ArrayList<>();
+        } else {
+            value = decodePayload(bytes, in, flags, code, list);
+            if (value == null) {
+                return null;
+            }
+        }
+        return writtenAt != null ? new CacheEnvelope(value, writtenAt) : value;
+    }
+
+    private Object decodePayload(byte[] bytes, ByteBuffer in, int flags, int code, boolean list) {
+        ObjectReader reader = null;
+        if ((flags & FLAG_JSON) == 0) {
+            reader = list ? listReaders.get(code) : valueReaders.get(code);
+            if (reader == null) {
+                log.debug("Skipping cache value with unknown type code {}", code);
+                return null;
+            }
+        }
+
+        try {
+            byte[] payload;
+            int offset;
+            int length;
+            if ((flags & FLAG_LZ4) != 0) {
+                length = in.getInt();
+                payload = new byte[length];
+                offset = 0;
+                decompressor.decompress(bytes, in.position(), payload, 0, length);
+            } else {
+                payload = bytes;
+                offset = in.position();
+                length = bytes.length - offset;
+            }
+            if (reader == null) {
+                return jsonSerializer.deserialize(offset == 0 && length == payload.length
+                    ? payload : Arrays.copyOfRange(payload, offset, offset + length));
+            }
+            return reader.readValue(payload, offset, length);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not read compact cache value", e);
+        }
+    }
+
+    /**
+     * The typed JSON format used before this codec ({@code @class} hints), with {@code java.time} support
+     * so cached DTOs carrying {@code Instant}s can actually be written.
+     */
+    public static RedisSerializer<Object> jsonSerializer() {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(),
+            ObjectMapper.DefaultTyping.EVERYTHING, JsonTypeInfo.As.PROPERTY);
+        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(mapper, null);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+
+    private Integer commonCode(List<?> list) {
+        Class<?> type = list.get(0) == null ? null : list.get(0).getClass();
+        for (Object element : list) {
+            if (element == null || element.getClass() != type) return null;
+        }
+        return codes.get(type);
+    }
+
+    private static void writeHeader(ByteBuffer out, int flags, int code, Long writtenAt) {
+        out.put(MAGIC);
+        out.put(FORMAT_VERSION);
+        out.put((byte) flags);
+        out.put((byte) code);
+        if (writtenAt != null) {
+            out.putLong(writtenAt);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.quckapp.admin.cache;
+
+import java.util.List;
+
+/**
+ * Published locally when another node invalidated cache entries. {@code flushAll} is set when
+ * messages from that node were lost, in which case every local tier must be dropped.
+ */
+public record RemoteCacheInvalidationEvent(List<CacheInvalidation> invalidations, boolean flushAll) {
+
+    public static RemoteCacheInvalidationEvent flushAllEvent() {
+        return new RemoteCacheInvalidationEvent(List.of(), true);
+    }
+
+    public boolean affects(String cacheName) {
+        if (flushAll) return true;
+        for (CacheInvalidation invalidation : invalidations) {
+            if (invalidation.cacheName().equals(cacheName)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,406 @@
+package com.quckapp.admin.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A cache with an in-process Caffeine L1 in front of a shared Redis L2.
+ *
+ * Reads try L1 first and populate it from L2 on a miss; writes and evictions go to L2
+ * first and then to L1. L1 entries live much shorter than L2 entries, which bounds how
+ * long another replica's change can stay invisible on this node if an invalidation message is lost.
+ * Evictions are announced on the {@link CacheInvalidationBus} so other nodes drop their L1 copy.
+ *
+ * Both tiers hold {@link CacheEnvelope}s, so entry age is known on every node and entries can be
+ * refreshed ahead of expiry and served stale for a grace period while the database is slow or down.
+ *
+ * Every eviction, local or announced by another node, bumps a version of the key (or of the whole
+ * cache for clears). A load only stores its result if neither version moved while it ran, and the
+ * check and the store are atomic with respect to evictions, so a load that read the database before
+ * a change can never write its result back over the eviction.
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationBus invalidationBus;
+    private final long ttlMillis;
+    private final long refreshAheadMillis;
+    private final long staleGraceMillis;
+    private final Duration loadWaitTimeout;
+    private final Executor refreshExecutor;
+
+    private static final int VERSION_STRIPES = 64;
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    /** Eviction count per key; entries are kept so a version never repeats for the same key. */
+    private final ConcurrentMap<Object, Long> keyVersions = new ConcurrentHashMap<>();
+    private final Object[] versionStripes = new Object[VERSION_STRIPES];
+    private final ReadWriteLock generationLock = new ReentrantReadWriteLock();
+    private volatile long generation;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder loadWaitTimeouts = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshesRejected = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+
+    /**
+     * @param spec ttl, refresh-ahead window and stale grace period; Redis must keep entries for ttl + stale grace
+     */
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local, Cache remote,
+                        CacheInvalidationBus invalidationBus, CacheProperties.Spec spec,
+                        Duration loadWaitTimeout, Executor refreshExecutor) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        this.ttlMillis = spec.getTtl().toMillis();
+        this.refreshAheadMillis = spec.getRefreshAhead() == null ? 0 : spec.getRefreshAhead().toMillis();
+        this.staleGraceMillis = spec.getStaleGrace() == null ? 0 : spec.getStaleGrace().toMillis();
+        this.loadWaitTimeout = loadWaitTimeout;
+        this.refreshExecutor = refreshExecutor;
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versionStripes[i] = new Object();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getLocalCache() {
+        return local;
+    }
+
+    /**
+     * Plain reads (no loader) only see entries that are not yet due; stale entries need a loader to be served.
+     */
+    @Override
+    @Nullable
+    protected Object lookup(Object key) {
+        CacheEnvelope envelope = lookupEnvelope(key);
+        if (envelope == null || envelope.ageMillis(System.currentTimeMillis()) >= ttlMillis) {
+            return null;
+        }
+        return envelope.value();
+    }
+
+    @Nullable
+    private CacheEnvelope lookupEnvelope(Object key) {
+        Object cached = local.getIfPresent(key);
+        if (cached != null) {
+            return (CacheEnvelope) cached;
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            return null;
+        }
+        // Entries written before write times were recorded count as fresh from now on
+        CacheEnvelope envelope = wrapper.get() instanceof CacheEnvelope e
+            ? e : new CacheEnvelope(wrapper.get(), System.currentTimeMillis());
+        local.put(key, envelope);
+        return envelope;
+    }
+
+    /**
+     * Serves {@code @Cacheable(sync = true)} reads.
+     * <ul>
+     *   <li>Fresh entries are returned as is.</li>
+     *   <li>Entries inside the refresh-ahead window are returned while a background reload runs.</li>
+     *   <li>Expired entries within the stale grace period wait a bounded time for a reload and fall
+     *       back to the stale value if it is slow or fails.</li>
+     *   <li>Misses are loaded at most once per key on this node: the first caller runs the loader,
+     *       concurrent callers wait for its result up to the configured time and then load on their own.</li>
+     * </ul>
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CacheEnvelope cached = lookupEnvelope(key);
+        if (cached != null) {
+            long age = cached.ageMillis(System.currentTimeMillis());
+            if (age < ttlMillis - refreshAheadMillis) {
+                return (T) cached.value();
+            }
+            if (age < ttlMillis) {
+                refreshAsync(key, valueLoader);
+                return (T) cached.value();
+            }
+            if (age < ttlMillis + staleGraceMillis) {
+                return (T) revalidate(key, cached, valueLoader);
+            }
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return (T) awaitLeader(key, leader, valueLoader);
+        }
+        // The previous leader may have stored the value between our lookup and claiming the key
+        Object current = lookup(key);
+        if (current != null) {
+            flight.complete(current);
+            inFlight.remove(key, flight);
+            return (T) current;
+        }
+        return (T) runFlight(key, flight, valueLoader);
+    }
+
+    private Object runFlight(Object key, CompletableFuture<Object> flight, Callable<?> valueLoader) {
+        try {
+            Object loaded = load(key, valueLoader);
+            flight.complete(loaded);
+            return loaded;
+        } catch (ValueRetrievalException ex) {
+            flight.completeExceptionally(ex.getCause() != null ? ex.getCause() : ex);
+            throw ex;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @Nullable
+    private CompletableFuture<Object> refreshAsync(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    runFlight(key, flight, valueLoader);
+                } catch (RuntimeException e) {
+                    log.debug("Background refresh of {}::{} failed: {}", name, key, e.getMessage());
+                }
+            });
+            refreshes.increment();
+            return flight;
+        } catch (RejectedExecutionException e) {
+            refreshesRejected.increment();
+            flight.completeExceptionally(e);
+            inFlight.remove(key, flight);
+            return null;
+        }
+    }
+
+    private Object revalidate(Object key, CacheEnvelope stale, Callable<?> valueLoader) {
+        CompletableFuture<Object> flight = refreshAsync(key, valueLoader);
+        if (flight != null) {
+            try {
+                Object loaded = flight.get(loadWaitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                if (loaded != null) {
+                    return loaded;
+                }
+            } catch (TimeoutException | ExecutionException e) {
+                log.debug("Serving stale {}::{} after failed or slow reload: {}", name, key, e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        staleHits.increment();
+        return stale.value();
+    }
+
+    private Object awaitLeader(Object key, CompletableFuture<Object> leader, Callable<?> valueLoader) {
+        coalescedLoads.increment();
+        try {
+            return leader.get(loadWaitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            loadWaitTimeouts.increment();
+            return load(key, valueLoader);
+        } catch (ExecutionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        loads.increment();
+        long startGeneration = generation;
+        long startKeyVersion = keyVersions.getOrDefault(key, 0L);
+        Object loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (loaded != null) {
+            storeIfUnchanged(key, loaded, startGeneration, startKeyVersion);
+        }
+        return loaded;
+    }
+
+    /**
+     * Stores a loaded value unless the key or the cache was evicted since the load started. Holds the
+     * key's stripe and the generation read lock, so no eviction can land between the check and the store.
+     */
+    private void storeIfUnchanged(Object key, Object value, long startGeneration, long startKeyVersion) {
+        generationLock.readLock().lock();
+        try {
+            synchronized (stripe(key)) {
+                if (generation != startGeneration || keyVersions.getOrDefault(key, 0L) != startKeyVersion) {
+                    log.debug("Not caching {}::{}, it was evicted while loading", name, key);
+                    return;
+                }
+                store(key, value);
+            }
+        } finally {
+            generationLock.readLock().unlock();
+        }
+    }
+
+    private void bumpKeyVersion(Object key) {
+        synchronized (stripe(key)) {
+            keyVersions.merge(key, 1L, Long::sum);
+        }
+    }
+
+    /** Waits for stores that are checking the old generation, so none of them lands after the clear. */
+    private void bumpGeneration() {
+        generationLock.writeLock().lock();
+        try {
+            generation++;
+        } finally {
+            generationLock.writeLock().unlock();
+        }
+    }
+
+    private Object stripe(Object key) {
+        return versionStripes[(key.hashCode() & 0x7fffffff) % VERSION_STRIPES];
+    }
+
+    private void store(Object key, Object value) {
+        CacheEnvelope envelope = new CacheEnvelope(value, System.currentTimeMillis());
+        remote.put(key, envelope);
+        local.put(key, envelope);
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long getCoalescedLoadCount() {
+        return coalescedLoads.sum();
+    }
+
+    public long getLoadWaitTimeoutCount() {
+        return loadWaitTimeouts.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    public long getRejectedRefreshCount() {
+        return refreshesRejected.sum();
+    }
+
+    public long getStaleHitCount() {
+        return staleHits.sum();
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        store(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        bumpKeyVersion(key);
+        inFlight.remove(key);
+        remote.evict(key);
+        local.invalidate(key);
+        announce(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        bumpKeyVersion(key);
+        inFlight.remove(key);
+        boolean evicted = remote.evictIfPresent(key);
+        local.invalidate(key);
+        announce(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        bumpGeneration();
+        inFlight.clear();
+        remote.clear();
+        local.invalidateAll();
+        announce(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        bumpGeneration();
+        inFlight.clear();
+        boolean invalidated = remote.invalidate();
+        local.invalidateAll();
+        announce(null);
+        return invalidated;
+    }
+
+    /**
+     * Applies an invalidation received from another node to L1 only; Redis was already updated by the sender.
+     * Loads running here are stopped from storing, since they may have read the database before the change.
+     */
+    public void invalidateLocal(CacheInvalidation invalidation) {
+        if (invalidation.isAllEntries()) {
+            clearLocal();
+        } else {
+            bumpKeyVersion(invalidation.key());
+            inFlight.remove(invalidation.key());
+            local.invalidate(invalidation.key());
+        }
+    }
+
+    public void clearLocal() {
+        bumpGeneration();
+        inFlight.clear();
+        local.invalidateAll();
+    }
+
+    private void announce(@Nullable Object key) {
+        if (invalidationBus == null) return;
+        // Cache keys in this service are strings; anything else is announced as a full clear
+        invalidationBus.publish(key instanceof String k ? new CacheInvalidation(name, k) : CacheInvalidation.allEntries(name));
+    }
+}
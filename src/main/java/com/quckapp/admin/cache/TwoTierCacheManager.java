@@ -0,0 +1,103 @@
+package com.quckapp.admin.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps every Redis cache in a {@link TwoTierCache} with an L1 sized and timed from {@link CacheProperties}.
+ * Caches whose L1 is disabled are returned as plain Redis caches.
+ * Invalidations received from other nodes are applied to the matching L1. Background refreshes
+ * of all caches share one bounded executor owned by this manager.
+ */
+public class TwoTierCacheManager implements CacheManager, DisposableBean, ApplicationListener<PayloadApplicationEvent<RemoteCacheInvalidationEvent>> {
+
+    private final RedisCacheManager remoteCacheManager;
+    private final CacheProperties properties;
+    private final CacheInvalidationBus invalidationBus;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor refreshExecutor;
+
+    public TwoTierCacheManager(RedisCacheManager remoteCacheManager, CacheProperties properties,
+                               CacheInvalidationBus invalidationBus) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.properties = properties;
+        this.invalidationBus = invalidationBus;
+        CacheProperties.Refresh refresh = properties.getRefresh();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(refresh.getThreads(), refresh.getThreads(), 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(refresh.getQueueCapacity()), r -> {
+                Thread thread = new Thread(r, "cache-refresh-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        this.refreshExecutor.allowCoreThreadTimeOut(true);
+        // Create configured caches eagerly so their metrics are bound at startup
+        properties.getCaches().keySet().forEach(this::getCache);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> decorate(key, remote));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    public void onApplicationEvent(PayloadApplicationEvent<RemoteCacheInvalidationEvent> payloadEvent) {
+        RemoteCacheInvalidationEvent event = payloadEvent.getPayload();
+        if (event.flushAll()) {
+            caches.values().forEach(cache -> {
+                if (cache instanceof TwoTierCache twoTier) twoTier.clearLocal();
+            });
+            return;
+        }
+        for (CacheInvalidation invalidation : event.invalidations()) {
+            if (caches.get(invalidation.cacheName()) instanceof TwoTierCache twoTier) {
+                twoTier.invalidateLocal(invalidation);
+            }
+        }
+    }
+
+    private Cache decorate(String name, Cache remote) {
+        CacheProperties.Spec spec = properties.resolve(name);
+        if (!spec.isLocalEnabled()) {
+            return remote;
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> local = Caffeine.newBuilder()
+            .maximumSize(spec.getLocalMaxSize())
+            .expireAfterWrite(spec.getLocalTtl())
+            .recordStats()
+            .build();
+        return new TwoTierCache(name, local, remote, invalidationBus, spec, properties.getLoadWaitTimeout(), refreshExecutor);
+    }
+}
@@ -1,45 +1,140 @@
 package com.quckapp.admin.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quckapp.admin.cache.CacheInvalidationBus;
+import com.quckapp.admin.cache.CacheProperties;
+import com.quckapp.admin.cache.CompactCacheSerializer;
+import com.quckapp.admin.cache.TwoTierCache;
+import com.quckapp.admin.cache.TwoTierCacheManager;
+import com.quckapp.admin.dto.AdminDtos.FeatureFlagResponse;
+import com.quckapp.admin.dto.AdminDtos.SystemSettingResponse;
+import com.quckapp.admin.dto.ServiceUrlDtos.EnvironmentSummary;
+import com.quckapp.admin.dto.ServiceUrlDtos.InfrastructureResponse;
+import com.quckapp.admin.dto.ServiceUrlDtos.ServiceUrlResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                                     ApplicationEventPublisher eventPublisher, CacheProperties properties) {
+        return new CacheInvalidationBus(redisTemplate, objectMapper, eventPublisher, properties.getInvalidation());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            CacheInvalidationBus invalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // One dispatch thread keeps each node's messages in sequence order; its queue is unbounded so the
+        // Redis I/O thread handing messages over never waits for a listener's database work
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("cache-invalidation-listener-");
+        executor.setDaemon(true);
+        executor.initialize();
+        container.setTaskExecutor(executor);
+        container.setSubscriptionExecutor(new SimpleAsyncTaskExecutor("cache-invalidation-subscription-"));
+        container.addMessageListener(invalidationBus, new ChannelTopic(invalidationBus.getChannel()));
+        return container;
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, CacheProperties properties,
+                                     CacheInvalidationBus invalidationBus) {
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-            .entryTtl(Duration.ofMinutes(30))
+            .entryTtl(properties.getDefaults().remoteRetention())
             .serializeValuesWith(
-                RedisSerializationContext.SerializationPair.fromSerializer(
-                    new GenericJackson2JsonRedisSerializer()
-                )
+                RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer(properties.getCodec()))
             )
             .disableCachingNullValues();
 
+        // Per-cache TTLs come from caching.caches.* in application.yml; Redis also keeps entries through the stale grace period
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        properties.getCaches().keySet().forEach(name ->
+            cacheConfigurations.put(name, defaultConfig.entryTtl(properties.resolve(name).remoteRetention())));
 
-        // System settings - longer TTL
-        cacheConfigurations.put("systemSettings", defaultConfig.entryTtl(Duration.ofHours(1)));
-
-        // Feature flags - shorter TTL for quicker updates
-        cacheConfigurations.put("featureFlags", defaultConfig.entryTtl(Duration.ofMinutes(5)));
-
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
             .cacheDefaults(defaultConfig)
             .withInitialCacheConfigurations(cacheConfigurations)
             .build();
+        redisCacheManager.initializeCaches();
+
+        return new TwoTierCacheManager(redisCacheManager, properties, invalidationBus);
+    }
+
+    /**
+     * Cached DTOs are encoded compactly; the list order defines their wire codes, so only append to it.
+     */
+    private static CompactCacheSerializer cacheValueSerializer(CacheProperties.Codec codec) {
+        return new CompactCacheSerializer(
+            List.of(
+                SystemSettingResponse.class,
+                FeatureFlagResponse.class,
+                ServiceUrlResponse.class,
+                InfrastructureResponse.class,
+                EnvironmentSummary.class
+            ),
+            codec.getWriteFormat() == CacheProperties.Codec.Format.COMPACT,
+            codec.getCompressionThreshold()
+        );
+    }
+
+    /**
+     * Publishes L1 hit/miss/eviction statistics as the standard {@code cache.*} meters, tagged {@code tier=local},
+     * plus {@code cache.loads} split into loader runs, callers coalesced onto another load, and wait timeouts,
+     * and refresh-ahead / stale-while-revalidate counters.
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        return (cache, tags) -> registry -> {
+            new CaffeineCacheMetrics<>(cache.getLocalCache(), cache.getName(), Tags.of(tags).and("tier", "local"))
+                .bindTo(registry);
+            Tags loadTags = Tags.of(tags).and("cache", cache.getName());
+            FunctionCounter.builder("cache.loads", cache, TwoTierCache::getLoadCount)
+                .tags(loadTags).tag("result", "loaded")
+                .description("Cache misses that ran the loader").register(registry);
+            FunctionCounter.builder("cache.loads", cache, TwoTierCache::getCoalescedLoadCount)
+                .tags(loadTags).tag("result", "coalesced")
+                .description("Cache misses that waited for a concurrent load of the same key").register(registry);
+            FunctionCounter.builder("cache.loads", cache, TwoTierCache::getLoadWaitTimeoutCount)
+                .tags(loadTags).tag("result", "wait_timeout")
+                .description("Coalesced waits that timed out and loaded independently").register(registry);
+            FunctionCounter.builder("cache.refreshes", cache, TwoTierCache::getRefreshCount)
+                .tags(loadTags).tag("result", "started")
+                .description("Background refreshes of entries near or past expiry").register(registry);
+            FunctionCounter.builder("cache.refreshes", cache, TwoTierCache::getRejectedRefreshCount)
+                .tags(loadTags).tag("result", "rejected")
+                .description("Background refreshes dropped because the refresh executor was full").register(registry);
+            FunctionCounter.builder("cache.stale.hits", cache, TwoTierCache::getStaleHitCount)
+                .tags(loadTags)
+                .description("Expired entries served because reloading was slow or failed").register(registry);
+        };
     }
 }
@@ -0,0 +1,40 @@
+package com.quckapp.admin.config;
+
+import com.quckapp.admin.health.HealthCheckProperties;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@EnableConfigurationProperties(HealthCheckProperties.class)
+public class HealthCheckConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider healthCheckConnectionProvider(HealthCheckProperties properties) {
+        return ConnectionProvider.builder("health-check")
+            .maxConnections(properties.getMaxConnections())
+            .pendingAcquireTimeout(properties.getProbeTimeout())
+            .maxIdleTime(properties.getMaxIdleTime())
+            .build();
+    }
+
+    /**
+     * One client for all probes, so sweeps reuse pooled keep-alive connections instead of
+     * opening new ones per service and request.
+     */
+    @Bean
+    public WebClient healthCheckWebClient(WebClient.Builder builder, ConnectionProvider healthCheckConnectionProvider,
+                                          HealthCheckProperties properties) {
+        HttpClient httpClient = HttpClient.create(healthCheckConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+            .responseTimeout(properties.getProbeTimeout());
+        return builder.clone()
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+}
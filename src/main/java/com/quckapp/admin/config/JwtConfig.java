@@ -0,0 +1,51 @@
+package com.quckapp.admin.config;
+
+import com.quckapp.admin.security.jwt.JwksKeyLocator;
+import com.quckapp.admin.security.jwt.JwksProperties;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+@Configuration
+@EnableConfigurationProperties(JwksProperties.class)
+public class JwtConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "jwt.jwks", name = "uri")
+    public JwksKeyLocator jwksKeyLocator(JwksProperties properties, MeterRegistry meterRegistry) {
+        return new JwksKeyLocator(properties, meterRegistry);
+    }
+
+    /**
+     * The one parser used for every token. With {@code jwt.jwks.uri} set, only RS256/ES256 tokens
+     * signed with a published key are accepted and the shared secret is ignored.
+     */
+    @Bean
+    public JwtParser jwtParser(@Value("${jwt.secret:}") String jwtSecret,
+                               @Value("${jwt.issuer:quckapp-auth-local}") String expectedIssuer,
+                               ObjectProvider<JwksKeyLocator> jwksKeyLocator) {
+        JwksKeyLocator keyLocator = jwksKeyLocator.getIfAvailable();
+        if (keyLocator != null) {
+            return Jwts.parser()
+                .keyLocator(keyLocator)
+                .requireIssuer(expectedIssuer)
+                .build();
+        }
+        if (!StringUtils.hasText(jwtSecret)) {
+            throw new IllegalStateException("Either jwt.secret or jwt.jwks.uri must be set");
+        }
+        return Jwts.parser()
+            .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+            .requireIssuer(expectedIssuer)
+            .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.quckapp.admin.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quckapp.admin.security.ratelimit.LocalRateLimiter;
+import com.quckapp.admin.security.ratelimit.RateLimitFilter;
+import com.quckapp.admin.security.ratelimit.RateLimitProperties;
+import com.quckapp.admin.security.ratelimit.RateLimiter;
+import com.quckapp.admin.security.ratelimit.RedisRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, ObjectProvider<StringRedisTemplate> redisTemplate) {
+        LocalRateLimiter local = new LocalRateLimiter(properties);
+        if (properties.getMode() == RateLimitProperties.Mode.REDIS) {
+            return new RedisRateLimiter(redisTemplate.getObject(), properties, local);
+        }
+        return local;
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties,
+                                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(rateLimiter, properties, objectMapper, meterRegistry);
+    }
+
+    /** Runs only inside the security filter chain, after authentication, not a second time as a servlet filter. */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -2,14 +2,19 @@ package com.quckapp.admin.controller;
 
 import com.quckapp.admin.domain.entity.MaintenanceWindow;
 import com.quckapp.admin.dto.AdminDtos.*;
+import com.quckapp.admin.health.HealthPoller;
 import com.quckapp.admin.service.*;
+import com.quckapp.admin.service.flag.FeatureFlagStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.UUID;
@@ -22,8 +27,9 @@ public class AdminController {
 
     private final SystemSettingsService settingsService;
     private final FeatureFlagService featureFlagService;
+    private final FeatureFlagStreamService featureFlagStreamService;
     private final MaintenanceService maintenanceService;
-    private final HealthCheckService healthCheckService;
+    private final HealthPoller healthPoller;
 
     // ===== System Settings Endpoints =====
 
@@ -104,6 +110,20 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(featureFlagService.checkFeature(request)));
     }
 
+    @PostMapping("/features/check/batch")
+    @Operation(summary = "Evaluate multiple feature flags for a user and workspace in one call")
+    public ResponseEntity<ApiResponse<FeatureBatchCheckResponse>> checkFeatures(
+            @Valid @RequestBody FeatureBatchCheckRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(featureFlagService.checkFeatures(request)));
+    }
+
+    @GetMapping(value = "/features/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream feature flag changes as Server-Sent Events")
+    public SseEmitter streamFeatureFlags(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return featureFlagStreamService.subscribe(lastEventId);
+    }
+
     @PutMapping("/features/{featureKey}")
     @Operation(summary = "Update feature flag")
     public ResponseEntity<ApiResponse<FeatureFlagResponse>> updateFeatureFlag(
@@ -166,8 +186,11 @@ public class AdminController {
     // ===== Health Check Endpoints =====
 
     @GetMapping("/health/services")
-    @Operation(summary = "Check health of all services")
-    public ResponseEntity<ApiResponse<SystemHealthResponse>> checkServicesHealth() {
-        return ResponseEntity.ok(ApiResponse.success(healthCheckService.checkAllServices()));
+    @Operation(summary = "Check health of all services registered for an environment")
+    public Mono<ResponseEntity<ApiResponse<SystemHealthResponse>>> checkServicesHealth(
+            @RequestParam(required = false) String environment) {
+        // Served from the background poller; completes asynchronously if it has to probe
+        return healthPoller.current(environment)
+            .map(health -> ResponseEntity.ok(ApiResponse.success(health)));
     }
 }
@@ -1,12 +1,15 @@
 package com.quckapp.admin.controller;
 
-import com.quckapp.admin.dto.AdminDtos.ApiResponse;
-import com.quckapp.admin.dto.VersionDtos.PublicVersionMapResponse;
-import com.quckapp.admin.service.VersionService;
+import com.quckapp.admin.service.version.MaterializedVersionMap;
+import com.quckapp.admin.service.version.PublicVersionMapHolder;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,15 +19,53 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Public Config", description = "Public configuration endpoints for client applications")
 public class PublicConfigController {
 
-    private final VersionService versionService;
+    private final PublicVersionMapHolder versionMapHolder;
 
     @Value("${app.base-url:https://api.quckapp.io}")
     private String baseUrl;
 
-    @GetMapping("/versions")
-    @Operation(summary = "Get active version map for client applications")
-    public ResponseEntity<ApiResponse<PublicVersionMapResponse>> getVersionMap(
-            @RequestParam String environment) {
-        return ResponseEntity.ok(ApiResponse.success(versionService.getPublicVersionMap(environment)));
+    /**
+     * Served from the materialized map: no database or serialization work per request, gzip when the
+     * client accepts it, and {@code 304 Not Modified} when its {@code If-None-Match} is still current.
+     */
+    @GetMapping(value = "/versions", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get active version map for client applications",
+               description = "Supports ETag revalidation via If-None-Match and gzip via Accept-Encoding")
+    public ResponseEntity<byte[]> getVersionMap(
+            @RequestParam String environment,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        MaterializedVersionMap map = versionMapHolder.get(environment);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? map.gzipEtag() : map.etag();
+
+        if (map.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(map.gzipped());
+        }
+        return response.body(map.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) continue;
+            // "gzip;q=0" explicitly refuses gzip
+            return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+        }
+        return false;
     }
 }
@@ -158,6 +158,13 @@ public class ServiceUrlController {
             service.cloneEnvironment(request, userId)));
     }
 
+    @PostMapping("/environments/clone/preview")
+    @Operation(summary = "Preview which keys a clone would add or change, without writing")
+    public ResponseEntity<ApiResponse<CloneDiff>> previewClone(
+            @Valid @RequestBody CloneEnvironmentRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(service.previewClone(request)));
+    }
+
     // ===== URL Validation =====
 
     @PostMapping("/validate-url")
@@ -1,5 +1,6 @@
 package com.quckapp.admin.domain.entity;
 
+import com.quckapp.admin.domain.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -18,7 +19,7 @@ import java.util.UUID;
 public class FirebaseEnvironmentConfig {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false, length = 20, unique = true)
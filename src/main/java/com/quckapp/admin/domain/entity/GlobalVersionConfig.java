@@ -1,5 +1,6 @@
 package com.quckapp.admin.domain.entity;
 
+import com.quckapp.admin.domain.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -17,7 +18,7 @@ import java.util.UUID;
 public class GlobalVersionConfig {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false, unique = true, length = 20)
@@ -0,0 +1,269 @@
+package com.quckapp.admin.domain.repository;
+
+import com.quckapp.admin.domain.entity.InfrastructureConfig;
+import com.quckapp.admin.domain.entity.ServiceUrlConfig;
+import com.quckapp.admin.domain.id.UuidV7Generator;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based writes of service URL and infrastructure rows that bypass the persistence context.
+ *
+ * Upserts rely on the {@code uk_env_service} / {@code uk_env_infra} unique keys, so concurrent
+ * imports of the same keys update each other's rows instead of failing. Rows are returned and
+ * written as detached entities. Like {@code @Modifying(flushAutomatically = true, clearAutomatically = true)},
+ * writes flush pending changes first and clear the persistence context afterwards, so later reads
+ * in the same transaction see the new rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EnvironmentConfigJdbcRepository {
+
+    /** Rows per JDBC batch; with rewriteBatchedStatements each batch is one multi-row statement. */
+    static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SERVICE_URL = """
+        INSERT INTO service_url_configs
+            (id, environment, service_key, category, url, description, is_active, updated_by, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            category = VALUES(category), url = VALUES(url), description = VALUES(description),
+            is_active = VALUES(is_active), updated_by = VALUES(updated_by), updated_at = VALUES(updated_at)
+        """;
+
+    // A missing password keeps the stored one, as in the single-row upsert
+    private static final String UPSERT_INFRASTRUCTURE = """
+        INSERT INTO infrastructure_configs
+            (id, environment, infra_key, host, port, username, password_encrypted, connection_string,
+             is_active, updated_by, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            host = VALUES(host), port = VALUES(port), username = VALUES(username),
+            password_encrypted = COALESCE(VALUES(password_encrypted), password_encrypted),
+            connection_string = VALUES(connection_string), is_active = VALUES(is_active),
+            updated_by = VALUES(updated_by), updated_at = VALUES(updated_at)
+        """;
+
+    private static final List<String> SERVICE_URL_CONTENT = List.of("category", "url", "description", "is_active");
+    private static final List<String> INFRASTRUCTURE_CONTENT =
+        List.of("host", "port", "username", "connection_string", "is_active");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    private volatile String idExpression;
+
+    // ===== Service URLs =====
+
+    public List<ServiceUrlConfig> findServiceUrls(String environment) {
+        return jdbcTemplate.query(
+            "SELECT service_key, category, url, description, is_active FROM service_url_configs WHERE environment = ?",
+            (rs, row) -> ServiceUrlConfig.builder()
+                .environment(environment)
+                .serviceKey(rs.getString("service_key"))
+                .category(rs.getString("category"))
+                .url(rs.getString("url"))
+                .description(rs.getString("description"))
+                .isActive(rs.getBoolean("is_active"))
+                .build(),
+            environment);
+    }
+
+    /**
+     * Inserts or updates every row in batches. Ids of new rows are generated here; ids of rows
+     * that already exist are kept.
+     */
+    public void upsertServiceUrls(List<ServiceUrlConfig> rows, Instant now) {
+        if (rows.isEmpty()) return;
+        Timestamp timestamp = Timestamp.from(now);
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(UPSERT_SERVICE_URL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setBytes(1, toBytes(UuidV7Generator.next()));
+            ps.setString(2, row.getEnvironment());
+            ps.setString(3, row.getServiceKey());
+            ps.setString(4, row.getCategory());
+            ps.setString(5, row.getUrl());
+            ps.setString(6, row.getDescription());
+            ps.setBoolean(7, row.isActive());
+            setUuid(ps, 8, row.getUpdatedBy());
+            ps.setTimestamp(9, timestamp);
+            ps.setTimestamp(10, timestamp);
+        });
+        entityManager.clear();
+    }
+
+    // ===== Infrastructure =====
+
+    public List<InfrastructureConfig> findInfrastructure(String environment) {
+        return jdbcTemplate.query(
+            "SELECT infra_key, host, port, username, password_encrypted, connection_string, is_active " +
+            "FROM infrastructure_configs WHERE environment = ?",
+            (rs, row) -> InfrastructureConfig.builder()
+                .environment(environment)
+                .infraKey(rs.getString("infra_key"))
+                .host(rs.getString("host"))
+                .port(rs.getInt("port"))
+                .username(rs.getString("username"))
+                .passwordEncrypted(rs.getString("password_encrypted"))
+                .connectionString(rs.getString("connection_string"))
+                .isActive(rs.getBoolean("is_active"))
+                .build(),
+            environment);
+    }
+
+    public void upsertInfrastructure(List<InfrastructureConfig> rows, Instant now) {
+        if (rows.isEmpty()) return;
+        Timestamp timestamp = Timestamp.from(now);
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(UPSERT_INFRASTRUCTURE, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setBytes(1, toBytes(UuidV7Generator.next()));
+            ps.setString(2, row.getEnvironment());
+            ps.setString(3, row.getInfraKey());
+            ps.setString(4, row.getHost());
+            ps.setInt(5, row.getPort());
+            ps.setString(6, row.getUsername());
+            ps.setString(7, row.getPasswordEncrypted());
+            ps.setString(8, row.getConnectionString());
+            ps.setBoolean(9, row.isActive());
+            setUuid(ps, 10, row.getUpdatedBy());
+            ps.setTimestamp(11, timestamp);
+            ps.setTimestamp(12, timestamp);
+        });
+        entityManager.clear();
+    }
+
+    // ===== Environment Cloning =====
+
+    /**
+     * How cloning would change each key of the source in the target: ADDED, CHANGED or
+     * UNCHANGED, ordered by key. Keys only present in the target are left alone by a clone.
+     */
+    public Map<String, String> diffServiceUrls(String source, String target) {
+        return diff("service_url_configs", "service_key", SERVICE_URL_CONTENT, source, target);
+    }
+
+    /**
+     * Copies every added or changed service URL of the source into the target in one statement.
+     */
+    public int cloneServiceUrls(String source, String target, UUID updatedBy, Instant now) {
+        return cloneRows("service_url_configs", "service_key", SERVICE_URL_CONTENT,
+            List.of("category", "url", "description"), source, target, updatedBy, now);
+    }
+
+    public Map<String, String> diffInfrastructure(String source, String target) {
+        return diff("infrastructure_configs", "infra_key", INFRASTRUCTURE_CONTENT, source, target);
+    }
+
+    /**
+     * Copies infrastructure like {@link #cloneServiceUrls}; passwords are never copied, so new
+     * rows have none and existing rows keep theirs.
+     */
+    public int cloneInfrastructure(String source, String target, UUID updatedBy, Instant now) {
+        return cloneRows("infrastructure_configs", "infra_key", INFRASTRUCTURE_CONTENT,
+            List.of("host", "port", "username", "connection_string"), source, target, updatedBy, now);
+    }
+
+    private Map<String, String> diff(String table, String keyColumn, List<String> content, String source, String target) {
+        String sql = "SELECT s." + keyColumn + " AS row_key, " +
+            "CASE WHEN t.id IS NULL THEN 'ADDED' WHEN " + sameContent(content) + " THEN 'UNCHANGED' ELSE 'CHANGED' END AS row_change " +
+            "FROM " + table + " s LEFT JOIN " + table + " t ON t.environment = ? AND t." + keyColumn + " = s." + keyColumn + " " +
+            "WHERE s.environment = ? ORDER BY s." + keyColumn;
+        Map<String, String> changes = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            changes.put(rs.getString("row_key"), rs.getString("row_change"));
+        }, target, source);
+        return changes;
+    }
+
+    /**
+     * {@code INSERT ... SELECT} of the rows the diff reports as added or changed, executed entirely
+     * in the database. Copied rows are always active, as with a manual upsert.
+     */
+    private int cloneRows(String table, String keyColumn, List<String> content, List<String> copied,
+                          String source, String target, UUID updatedBy, Instant now) {
+        String columns = String.join(", ", copied);
+        String sql = "INSERT INTO " + table + " (id, environment, " + keyColumn + ", " + columns +
+            ", is_active, updated_by, created_at, updated_at) " +
+            "SELECT " + idExpression() + ", ?, s." + keyColumn + ", " +
+            copied.stream().map(column -> "s." + column).collect(Collectors.joining(", ")) + ", TRUE, ?, ?, ? " +
+            "FROM " + table + " s LEFT JOIN " + table + " t ON t.environment = ? AND t." + keyColumn + " = s." + keyColumn + " " +
+            "WHERE s.environment = ? AND (t.id IS NULL OR NOT (" + sameContent(content) + ")) " +
+            "ON DUPLICATE KEY UPDATE " +
+            copied.stream().map(column -> column + " = VALUES(" + column + ")").collect(Collectors.joining(", ")) +
+            ", is_active = VALUES(is_active), updated_by = VALUES(updated_by), updated_at = VALUES(updated_at)";
+        Timestamp timestamp = Timestamp.from(now);
+        entityManager.flush();
+        int rows = jdbcTemplate.update(sql, ps -> {
+            ps.setString(1, target);
+            setUuid(ps, 2, updatedBy);
+            ps.setTimestamp(3, timestamp);
+            ps.setTimestamp(4, timestamp);
+            ps.setString(5, target);
+            ps.setString(6, source);
+        });
+        entityManager.clear();
+        return rows;
+    }
+
+    /**
+     * Null-safe equality of every content column between the target row {@code t} and the source
+     * row {@code s}, spelled out since MySQL's {@code <=>} does not exist on H2. Never NULL, so it
+     * can be negated safely; an inactive target row always differs.
+     */
+    private static String sameContent(List<String> columns) {
+        return columns.stream()
+            .map(column -> column.equals("is_active")
+                ? "t.is_active = TRUE"
+                : "((t." + column + " IS NULL AND s." + column + " IS NULL) OR (t." + column + " IS NOT NULL AND s."
+                    + column + " IS NOT NULL AND t." + column + " = s." + column + "))")
+            .collect(Collectors.joining(" AND "));
+    }
+
+    /**
+     * SQL expression for a fresh id of a row inserted by a statement. MySQL gets a time-ordered
+     * {@code UUID_TO_BIN(UUID(), 1)} so cloned rows still append to the clustered index.
+     */
+    private String idExpression() {
+        String expression = idExpression;
+        if (expression == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            expression = "H2".equals(product) ? "RANDOM_UUID()" : "UUID_TO_BIN(UUID(), 1)";
+            idExpression = expression;
+        }
+        return expression;
+    }
+
+    // ===== Private Helpers =====
+
+    private static void setUuid(PreparedStatement ps, int index, UUID value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BINARY);
+        } else {
+            ps.setBytes(index, toBytes(value));
+        }
+    }
+
+    /** Big-endian bytes, the layout Hibernate uses for {@code BINARY(16)} ids. */
+    private static byte[] toBytes(UUID value) {
+        return ByteBuffer.allocate(16)
+            .putLong(value.getMostSignificantBits())
+            .putLong(value.getLeastSignificantBits())
+            .array();
+    }
+}
@@ -2,8 +2,10 @@ package com.quckapp.admin.domain.repository;
 
 import com.quckapp.admin.domain.entity.FirebaseEnvironmentConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +13,7 @@ import java.util.UUID;
 public interface FirebaseEnvironmentConfigRepository extends JpaRepository<FirebaseEnvironmentConfig, UUID> {
     Optional<FirebaseEnvironmentConfig> findByEnvironment(String environment);
     boolean existsByEnvironment(String environment);
+
+    @Query("SELECT f.environment FROM FirebaseEnvironmentConfig f")
+    List<String> findAllEnvironments();
 }
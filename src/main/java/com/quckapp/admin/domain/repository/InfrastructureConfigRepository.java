@@ -2,6 +2,7 @@ package com.quckapp.admin.domain.repository;
 
 import com.quckapp.admin.domain.entity.InfrastructureConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +16,12 @@ public interface InfrastructureConfigRepository extends JpaRepository<Infrastruc
     boolean existsByEnvironmentAndInfraKey(String environment, String infraKey);
     long countByEnvironment(String environment);
     void deleteByEnvironment(String environment);
+
+    @Query("SELECT i.environment AS environment, COUNT(i) AS total FROM InfrastructureConfig i GROUP BY i.environment")
+    List<EnvironmentCount> countByEnvironmentGrouped();
+
+    interface EnvironmentCount {
+        String getEnvironment();
+        long getTotal();
+    }
 }
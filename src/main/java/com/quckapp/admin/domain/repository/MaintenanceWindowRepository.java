@@ -2,9 +2,11 @@ package com.quckapp.admin.domain.repository;
 
 import com.quckapp.admin.domain.entity.MaintenanceWindow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -22,4 +24,24 @@ public interface MaintenanceWindowRepository extends JpaRepository<MaintenanceWi
 
     @Query("SELECT m FROM MaintenanceWindow m WHERE m.startTime > :now AND m.status = 'SCHEDULED' ORDER BY m.startTime")
     List<MaintenanceWindow> findUpcoming(@Param("now") Instant now);
+
+    /**
+     * Moves one window from one status to another in a single statement. Returns 0 when the window
+     * is no longer in {@code from}, so of several replicas firing the same transition only one wins.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE MaintenanceWindow m SET m.status = :to WHERE m.id = :id AND m.status = :from")
+    int transitionStatus(@Param("id") UUID id, @Param("from") MaintenanceWindow.MaintenanceStatus from,
+                         @Param("to") MaintenanceWindow.MaintenanceStatus to);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE MaintenanceWindow m SET m.status = 'IN_PROGRESS' WHERE m.status = 'SCHEDULED' AND m.startTime <= :now")
+    int startDue(@Param("now") Instant now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE MaintenanceWindow m SET m.status = 'COMPLETED' WHERE m.status = 'IN_PROGRESS' AND m.endTime < :now")
+    int completeDue(@Param("now") Instant now);
 }
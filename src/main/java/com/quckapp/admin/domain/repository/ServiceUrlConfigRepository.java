@@ -2,8 +2,10 @@ package com.quckapp.admin.domain.repository;
 
 import com.quckapp.admin.domain.entity.ServiceUrlConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,4 +19,15 @@ public interface ServiceUrlConfigRepository extends JpaRepository<ServiceUrlConf
     long countByEnvironment(String environment);
     void deleteByEnvironmentAndServiceKey(String environment, String serviceKey);
     void deleteByEnvironment(String environment);
+
+    @Query("SELECT s.environment AS environment, s.category AS category, COUNT(s) AS total, MAX(s.updatedAt) AS lastUpdated " +
+           "FROM ServiceUrlConfig s GROUP BY s.environment, s.category")
+    List<CategoryStats> summarizeByEnvironmentAndCategory();
+
+    interface CategoryStats {
+        String getEnvironment();
+        String getCategory();
+        long getTotal();
+        Instant getLastUpdated();
+    }
 }
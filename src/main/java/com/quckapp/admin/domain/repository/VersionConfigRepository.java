@@ -3,8 +3,13 @@ package com.quckapp.admin.domain.repository;
 import com.quckapp.admin.domain.entity.VersionConfig;
 import com.quckapp.admin.domain.entity.VersionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,10 +18,39 @@ import java.util.UUID;
 public interface VersionConfigRepository extends JpaRepository<VersionConfig, UUID> {
     List<VersionConfig> findByEnvironment(String environment);
     List<VersionConfig> findByEnvironmentAndServiceKey(String environment, String serviceKey);
+    List<VersionConfig> findByEnvironmentAndServiceKeyIn(String environment, Collection<String> serviceKeys);
+    List<VersionConfig> findByEnvironmentAndApiVersionAndServiceKeyIn(String environment, String apiVersion, Collection<String> serviceKeys);
     Optional<VersionConfig> findByEnvironmentAndServiceKeyAndApiVersion(String environment, String serviceKey, String apiVersion);
     List<VersionConfig> findByEnvironmentAndStatus(String environment, VersionStatus status);
+    List<VersionConfig> findByEnvironmentAndApiVersionAndStatus(String environment, String apiVersion, VersionStatus status);
+    List<VersionConfig> findByEnvironmentInAndServiceKeyInAndStatus(Collection<String> environments, Collection<String> serviceKeys, VersionStatus status);
     List<VersionConfig> findByEnvironmentAndApiVersion(String environment, String apiVersion);
     boolean existsByEnvironmentAndServiceKeyAndStatusAndApiVersionNot(String environment, String serviceKey, VersionStatus status, String apiVersion);
     boolean existsByEnvironmentAndServiceKeyAndApiVersionAndStatus(String environment, String serviceKey, String apiVersion, VersionStatus status);
     boolean existsByEnvironmentInAndServiceKeyAndApiVersionAndStatus(List<String> environments, String serviceKey, String apiVersion, VersionStatus status);
+
+    @Query("SELECT DISTINCT v.environment FROM VersionConfig v")
+    List<String> findDistinctEnvironments();
+
+    @Query("SELECT v.environment AS environment, v.status AS status, COUNT(v) AS total FROM VersionConfig v " +
+           "GROUP BY v.environment, v.status")
+    List<StatusCount> countByEnvironmentAndStatus();
+
+    interface StatusCount {
+        String getEnvironment();
+        VersionStatus getStatus();
+        long getTotal();
+    }
+
+    /**
+     * Moves the given rows from one status to another in a single statement. Rows no longer in
+     * {@code from} are left alone, so the returned count tells whether another writer got there first.
+     * Bypasses auditing, hence the explicit {@code updatedAt}.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE VersionConfig v SET v.status = :to, v.updatedBy = :updatedBy, v.updatedAt = :updatedAt " +
+           "WHERE v.id IN :ids AND v.status = :from")
+    int transitionStatus(@Param("ids") Collection<UUID> ids, @Param("from") VersionStatus from,
+                         @Param("to") VersionStatus to, @Param("updatedBy") String updatedBy,
+                         @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -101,6 +101,46 @@ public class AdminDtos {
         private String reason;
     }
 
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class FeatureBatchCheckRequest {
+        private UUID userId;
+        private UUID workspaceId;
+        @Size(max = 500) private List<@NotBlank String> featureKeys;
+        private Map<String, Object> context;
+    }
+
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class FeatureBatchCheckResponse {
+        private UUID userId;
+        private UUID workspaceId;
+        private long revision;
+        private Map<String, FeatureCheckResponse> features;
+    }
+
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class FeatureFlagState {
+        private String featureKey;
+        private boolean enabled;
+        private Map<String, Object> targetRules;
+        private int rolloutPercentage;
+        private UUID workspaceId;
+        private Instant updatedAt;
+    }
+
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class FeatureFlagStreamSnapshot {
+        private long revision;
+        private List<FeatureFlagState> flags;
+    }
+
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class FeatureFlagStreamDelta {
+        private long revision;
+        private String type;
+        private String featureKey;
+        private FeatureFlagState flag;
+    }
+
     // ===== Maintenance Window DTOs =====
 
     @Data @Builder @NoArgsConstructor @AllArgsConstructor
@@ -132,17 +172,42 @@ public class AdminDtos {
     @Data @Builder @NoArgsConstructor @AllArgsConstructor
     public static class SystemHealthResponse {
         private String status;
+        private String environment;
         private Map<String, ServiceHealth> services;
+        private Map<String, CategoryHealth> categories;
         private Instant timestamp;
     }
 
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class CategoryHealth {
+        private String status;
+        private int total;
+        private int up;
+        private List<String> services;
+    }
+
     @Data @Builder @NoArgsConstructor @AllArgsConstructor
     public static class ServiceHealth {
         private String name;
+        private String category;
         private String status;
         private String url;
         private long responseTimeMs;
         private String error;
+        private List<HealthWindow> windows;
+    }
+
+    /**
+     * Availability and latency of one service over a sliding window of background probes.
+     */
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class HealthWindow {
+        private String window;
+        private int samples;
+        private double availability;
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
     }
 
     // ===== API Response =====
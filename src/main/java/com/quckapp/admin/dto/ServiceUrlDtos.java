@@ -5,6 +5,7 @@ import lombok.*;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class ServiceUrlDtos {
@@ -114,6 +115,23 @@ public class ServiceUrlDtos {
         private List<ServiceUrlResponse> services;
         private List<InfrastructureResponse> infrastructure;
         private FirebaseConfigResponse firebase;
+        private ImportStats stats;
+    }
+
+    /**
+     * What a bulk write changed; absent on plain exports.
+     */
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class ImportStats {
+        private ImportCounts services;
+        private ImportCounts infrastructure;
+    }
+
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class ImportCounts {
+        private int inserted;
+        private int updated;
+        private int unchanged;
     }
 
     @Data @Builder @NoArgsConstructor @AllArgsConstructor
@@ -122,6 +140,27 @@ public class ServiceUrlDtos {
         @NotBlank private String targetEnvironment;
     }
 
+    public enum ChangeType { ADDED, CHANGED, UNCHANGED }
+
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class KeyChange {
+        private String key;
+        private ChangeType change;
+    }
+
+    /**
+     * What cloning the source into the target changes; firebase is null when the source has none.
+     */
+    @Data @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class CloneDiff {
+        private String sourceEnvironment;
+        private String targetEnvironment;
+        private List<KeyChange> services;
+        private List<KeyChange> infrastructure;
+        private ChangeType firebase;
+        private ImportStats stats;
+    }
+
     // ===== Environment Summary =====
 
     @Data @Builder @NoArgsConstructor @AllArgsConstructor
@@ -131,6 +170,9 @@ public class ServiceUrlDtos {
         private long infraCount;
         private boolean hasFirebase;
         private Instant lastUpdated;
+        private Map<String, Long> servicesByCategory;
+        private long versionCount;
+        private Map<String, Long> versionsByStatus;
     }
 
     // ===== URL Validation =====
@@ -121,9 +121,19 @@ public class VersionDtos {
         String apiVersion,
         int activated,
         int skipped,
-        List<String> errors
+        List<String> errors,
+        List<BulkActivateResult> results
     ) {}
 
+    public record BulkActivateResult(
+        String serviceKey,
+        String apiVersion,
+        Outcome outcome,
+        String reason
+    ) {
+        public enum Outcome { ACTIVATED, BLOCKED_BY_CHAIN, STATUS_CHANGED }
+    }
+
     public record ApplyProfileResponse(
         String environment,
         String profileName,
@@ -0,0 +1,76 @@
+package com.quckapp.admin.health;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for probing downstream services, bound from {@code health-check.*}.
+ *
+ * The services probed are the active service URLs registered for an environment; health paths
+ * and probe concurrency can be set per service category.
+ */
+@Data
+@ConfigurationProperties(prefix = "health-check")
+public class HealthCheckProperties {
+
+    /** Environment whose registered services the background poller probes. */
+    private String environment = "local";
+    private String defaultHealthPath = "/actuator/health";
+    /** Probes in flight at once per category, unless the category sets its own. */
+    private int defaultConcurrency = 8;
+    /** Overrides per service category, keyed by category name (SPRING, NESTJS, ELIXIR, GO, PYTHON). */
+    private Map<String, Category> categories = new LinkedHashMap<>();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /** How long a single probe may take before its service is reported DOWN. */
+    private Duration probeTimeout = Duration.ofSeconds(5);
+    /** Upper bound for a whole sweep; probes still running then are reported DOWN. */
+    private Duration deadline = Duration.ofSeconds(6);
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /** Connections the shared probe client keeps open across all services. */
+    private int maxConnections = 64;
+    /** Idle pooled connections are closed after this long. */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Poll poll = new Poll();
+
+    public String healthPath(String category) {
+        Category settings = categories.get(category);
+        return settings != null && settings.getHealthPath() != null ? settings.getHealthPath() : defaultHealthPath;
+    }
+
+    public int concurrency(String category) {
+        Category settings = categories.get(category);
+        return settings != null && settings.getConcurrency() != null ? settings.getConcurrency() : defaultConcurrency;
+    }
+
+    @Data
+    public static class Category {
+        private String healthPath;
+        private Integer concurrency;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        /** Consecutive failed probes that open the breaker. */
+        private int failureThreshold = 3;
+        /** How long an opened breaker skips the service; doubles each time a trial probe fails. */
+        private Duration openDuration = Duration.ofSeconds(30);
+        private Duration maxOpenDuration = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Poll {
+        /** When disabled, every request to the health endpoint probes the services itself. */
+        private boolean enabled = true;
+        private long intervalMs = 15_000;
+        /** Samples kept per service; should cover the longest window at the poll interval. */
+        private int historySize = 256;
+        /** Windows over which availability and latency percentiles are reported. */
+        private List<Duration> windows = List.of(Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(15));
+    }
+}
@@ -0,0 +1,184 @@
+package com.quckapp.admin.health;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quckapp.admin.dto.AdminDtos.HealthWindow;
+import com.quckapp.admin.dto.AdminDtos.ServiceHealth;
+import com.quckapp.admin.dto.AdminDtos.SystemHealthResponse;
+import com.quckapp.admin.service.HealthCheckService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Probes every service of the configured environment in the background and keeps the latest
+ * results, so the health endpoint answers from memory however many dashboards poll it.
+ *
+ * Each service keeps its recent samples in a {@link ProbeHistory}; after every sweep the
+ * availability and p50/p95/p99 latency over each configured window are computed once and
+ * published both in the snapshot and as Micrometer gauges. Every probe is also recorded in the
+ * {@code health.probe.duration} timer. Services that drop out of a sweep lose their history and meters.
+ *
+ * Other environments are swept on demand; concurrent requests share one sweep per environment
+ * and its result is reused for one poll interval, so a dashboard polling another environment
+ * costs no more than the background poller does.
+ */
+@Component
+@Slf4j
+public class HealthPoller {
+
+    private static final List<String> SERVICE_METERS = List.of(
+        "health.service.up", "health.service.availability", "health.service.latency", "health.probe.duration");
+
+    private final HealthCheckService healthCheckService;
+    private final HealthCheckProperties.Poll settings;
+    private final String environment;
+    private final Duration sweepTimeout;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ProbeHistory> histories = new ConcurrentHashMap<>();
+    private final Map<String, Map<Duration, ProbeHistory.WindowStats>> stats = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> up = new ConcurrentHashMap<>();
+    private volatile SystemHealthResponse latest;
+    private final Cache<String, Mono<SystemHealthResponse>> onDemand = Caffeine.newBuilder()
+        .maximumSize(32)
+        .build();
+
+    public HealthPoller(HealthCheckService healthCheckService, HealthCheckProperties properties, MeterRegistry meterRegistry) {
+        this.healthCheckService = healthCheckService;
+        this.settings = properties.getPoll();
+        this.environment = properties.getEnvironment();
+        this.sweepTimeout = properties.getDeadline().plusSeconds(5);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The latest snapshot of the polled environment. Other environments, and the polled one
+     * before its first sweep or with polling disabled, are probed on demand; a successful
+     * on-demand sweep is shared for one poll interval, a failed one is not kept.
+     */
+    public Mono<SystemHealthResponse> current(String requestedEnvironment) {
+        String target = requestedEnvironment != null ? requestedEnvironment : environment;
+        SystemHealthResponse snapshot = latest;
+        if (snapshot != null && target.equals(environment)) {
+            return Mono.just(snapshot);
+        }
+        Duration ttl = Duration.ofMillis(settings.getIntervalMs());
+        return onDemand.get(target, env -> healthCheckService.checkAllServices(env)
+            .cache(response -> ttl, error -> Duration.ZERO, () -> Duration.ZERO));
+    }
+
+    @Scheduled(fixedDelayString = "${health-check.poll.interval-ms:15000}", initialDelay = 1000)
+    public void poll() {
+        if (!settings.isEnabled()) return;
+        try {
+            List<ProbeResult> results = healthCheckService.probeAll(environment).block(sweepTimeout);
+            if (results != null) {
+                record(results, System.nanoTime());
+            }
+        } catch (Exception e) {
+            log.warn("Health sweep failed, keeping previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    void record(List<ProbeResult> results, long nowNanos) {
+        List<ServiceHealth> services = new ArrayList<>(results.size());
+        Set<String> swept = new HashSet<>();
+        for (ProbeResult result : results) {
+            swept.add(result.name());
+            ProbeHistory history = histories.computeIfAbsent(result.name(), this::register);
+            history.record(new ProbeHistory.Sample(nowNanos, result.skipped() ? -1 : result.latencyNanos(), result.up()));
+            if (!result.skipped()) {
+                Timer.builder("health.probe.duration")
+                    .tag("service", result.name())
+                    .tag("outcome", result.up() ? "up" : "down")
+                    .register(meterRegistry)
+                    .record(result.latencyNanos(), TimeUnit.NANOSECONDS);
+            }
+
+            Map<Duration, ProbeHistory.WindowStats> windows = new ConcurrentHashMap<>();
+            List<HealthWindow> reported = new ArrayList<>(settings.getWindows().size());
+            for (Duration window : settings.getWindows()) {
+                ProbeHistory.WindowStats windowStats = history.stats(window, nowNanos);
+                windows.put(window, windowStats);
+                reported.add(HealthWindow.builder()
+                    .window(window.toString())
+                    .samples(windowStats.samples())
+                    .availability(windowStats.availability())
+                    .p50Ms(windowStats.p50Micros() / 1000.0)
+                    .p95Ms(windowStats.p95Micros() / 1000.0)
+                    .p99Ms(windowStats.p99Micros() / 1000.0)
+                    .build());
+            }
+            stats.put(result.name(), windows);
+            up.put(result.name(), result.up());
+
+            ServiceHealth health = result.toServiceHealth();
+            health.setWindows(reported);
+            services.add(health);
+        }
+        List.copyOf(histories.keySet()).stream()
+            .filter(service -> !swept.contains(service))
+            .forEach(this::unregister);
+        latest = HealthCheckService.summarize(environment, services);
+    }
+
+    /**
+     * Creates the history of a newly seen service and its gauges, which read the stats of the
+     * last sweep.
+     */
+    private ProbeHistory register(String service) {
+        Gauge.builder("health.service.up", up, m -> Boolean.TRUE.equals(m.get(service)) ? 1 : 0)
+            .tag("service", service)
+            .description("1 if the last probe of the service succeeded")
+            .register(meterRegistry);
+        for (Duration window : settings.getWindows()) {
+            gauge("health.service.availability", service, window, null, ProbeHistory.WindowStats::availability,
+                "Share of successful probes in the window");
+            gauge("health.service.latency", service, window, "0.5", s -> s.p50Micros() / 1e6, "Probe latency percentile in seconds");
+            gauge("health.service.latency", service, window, "0.95", s -> s.p95Micros() / 1e6, "Probe latency percentile in seconds");
+            gauge("health.service.latency", service, window, "0.99", s -> s.p99Micros() / 1e6, "Probe latency percentile in seconds");
+        }
+        return new ProbeHistory(settings.getHistorySize());
+    }
+
+    /** Forgets a service that is no longer configured, so its history and meters do not linger. */
+    private void unregister(String service) {
+        histories.remove(service);
+        stats.remove(service);
+        up.remove(service);
+        for (String meter : SERVICE_METERS) {
+            meterRegistry.find(meter).tag("service", service).meters().forEach(meterRegistry::remove);
+        }
+    }
+
+    private void gauge(String name, String service, Duration window, String quantile,
+                       ToDoubleFunction<ProbeHistory.WindowStats> value, String description) {
+        Gauge.Builder<Map<String, Map<Duration, ProbeHistory.WindowStats>>> builder = Gauge.builder(name, stats, m -> {
+                Map<Duration, ProbeHistory.WindowStats> windows = m.get(service);
+                ProbeHistory.WindowStats windowStats = windows != null ? windows.get(window) : null;
+                return windowStats != null ? value.applyAsDouble(windowStats) : Double.NaN;
+            })
+            .tag("service", service)
+            .tag("window", window.toString())
+            .description(description);
+        if (quantile != null) {
+            builder.tag("quantile", quantile);
+        }
+        builder.register(meterRegistry);
+    }
+}
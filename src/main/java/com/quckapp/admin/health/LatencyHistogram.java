@@ -0,0 +1,60 @@
+package com.quckapp.admin.health;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log-linear latency histogram in the style of HdrHistogram. Values below 128 µs are counted
+ * exactly; larger values fall into buckets 1/64 of their power of two wide, so every percentile
+ * is reported within 1.6% of the recorded value at any scale, from a fixed array of counts.
+ * Values above one hour are clamped. Not thread-safe: build one per computation.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    static final long MAX_VALUE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final long[] counts = new long[indexOf(MAX_VALUE_MICROS) + 1];
+    private long total;
+
+    void recordMicros(long value) {
+        counts[indexOf(Math.max(0, Math.min(value, MAX_VALUE_MICROS)))]++;
+        total++;
+    }
+
+    long total() {
+        return total;
+    }
+
+    /**
+     * Smallest recorded value, within bucket precision, that at least {@code percentile} percent
+     * of all values are less than or equal to; 0 when empty.
+     */
+    long percentileMicros(double percentile) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return MAX_VALUE_MICROS;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        // Shift that brings the value into [64, 128): the bucket width is 2^shift
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) ((value >>> shift) - HALF_SUB_BUCKETS);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long subBucket = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,74 @@
+package com.quckapp.admin.health;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Backs off probing a service that keeps failing, so a dead host does not cost a probe timeout
+ * on every sweep.
+ *
+ * After {@code failureThreshold} consecutive failures the breaker opens and the service is not
+ * probed until the open period ends. Then exactly one trial probe is let through: success closes
+ * the breaker, failure reopens it for twice as long, up to {@code maxOpenDuration}. Every state
+ * change is a single compare-and-set, so overlapping sweeps never send two trial probes.
+ */
+public final class ProbeCircuitBreaker {
+
+    public enum Status { CLOSED, OPEN, HALF_OPEN }
+
+    private record State(Status status, int failures, int reopened, long openUntilNanos) {}
+
+    private static final State CLOSED = new State(Status.CLOSED, 0, 0, 0);
+
+    private final HealthCheckProperties.CircuitBreaker settings;
+    private final AtomicReference<State> state = new AtomicReference<>(CLOSED);
+
+    public ProbeCircuitBreaker(HealthCheckProperties.CircuitBreaker settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Whether a probe may be sent now; when this returns true for an open breaker, the caller's
+     * probe is the trial and must report its outcome.
+     */
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            switch (current.status()) {
+                case CLOSED:
+                    return true;
+                case HALF_OPEN:
+                    return false;
+                case OPEN:
+                    if (nowNanos - current.openUntilNanos() < 0) return false;
+                    State trial = new State(Status.HALF_OPEN, current.failures(), current.reopened(), current.openUntilNanos());
+                    if (state.compareAndSet(current, trial)) return true;
+            }
+        }
+    }
+
+    public void onSuccess() {
+        state.set(CLOSED);
+    }
+
+    public void onFailure(long nowNanos) {
+        state.updateAndGet(current -> {
+            if (current.status() == Status.OPEN) return current;
+            int failures = current.failures() + 1;
+            if (current.status() == Status.CLOSED && failures < settings.getFailureThreshold()) {
+                return new State(Status.CLOSED, failures, 0, 0);
+            }
+            int reopened = current.status() == Status.HALF_OPEN ? current.reopened() + 1 : 0;
+            return new State(Status.OPEN, failures, reopened, nowNanos + openNanos(reopened));
+        });
+    }
+
+    public Status status() {
+        return state.get().status();
+    }
+
+    private long openNanos(int reopened) {
+        long base = settings.getOpenDuration().toNanos();
+        long max = settings.getMaxOpenDuration().toNanos();
+        return reopened >= 30 || base << reopened > max || base << reopened <= 0 ? max : base << reopened;
+    }
+}
@@ -0,0 +1,55 @@
+package com.quckapp.admin.health;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Most recent probe samples of one service in a fixed-size ring. Writers claim a slot with one
+ * atomic increment and readers never block them; a reader racing a writer may see a sample
+ * from the previous lap in that slot, which is filtered out by its timestamp like any old one.
+ */
+final class ProbeHistory {
+
+    /** A negative latency marks a probe that was skipped; it counts for availability only. */
+    record Sample(long atNanos, long latencyNanos, boolean up) {}
+
+    /** Availability and latency percentiles over one window. */
+    record WindowStats(Duration window, int samples, double availability, long p50Micros, long p95Micros, long p99Micros) {}
+
+    private final AtomicReferenceArray<Sample> slots;
+    private final AtomicLong written = new AtomicLong();
+
+    ProbeHistory(int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    void record(Sample sample) {
+        long sequence = written.getAndIncrement();
+        slots.set((int) (sequence % slots.length()), sample);
+    }
+
+    /**
+     * Stats over the samples taken in the last {@code window} up to {@code nowNanos}. Latency covers
+     * every probe sent, failed ones included, so timeouts show up in the upper percentiles.
+     */
+    WindowStats stats(Duration window, long nowNanos) {
+        long cutoff = nowNanos - window.toNanos();
+        LatencyHistogram histogram = new LatencyHistogram();
+        int samples = 0;
+        int up = 0;
+        long newest = written.get();
+        for (long sequence = newest - 1; sequence >= Math.max(0, newest - slots.length()); sequence--) {
+            Sample sample = slots.get((int) (sequence % slots.length()));
+            if (sample == null || sample.atNanos() - cutoff <= 0) continue;
+            if (sample.latencyNanos() >= 0) {
+                histogram.recordMicros(TimeUnit.NANOSECONDS.toMicros(sample.latencyNanos()));
+            }
+            samples++;
+            if (sample.up()) up++;
+        }
+        return new WindowStats(window, samples, samples == 0 ? 0.0 : (double) up / samples,
+            histogram.percentileMicros(50), histogram.percentileMicros(95), histogram.percentileMicros(99));
+    }
+}
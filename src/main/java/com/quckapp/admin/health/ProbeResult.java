@@ -0,0 +1,28 @@
+package com.quckapp.admin.health;
+
+import com.quckapp.admin.dto.AdminDtos.ServiceHealth;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one health probe, with its latency measured on the monotonic clock. A skipped
+ * probe was not sent because the service's circuit breaker is open; it has no latency.
+ */
+public record ProbeResult(String name, String category, String url, boolean up, boolean skipped,
+                          long latencyNanos, String error) {
+
+    public static ProbeResult skipped(String name, String category, String url, String error) {
+        return new ProbeResult(name, category, url, false, true, 0, error);
+    }
+
+    public ServiceHealth toServiceHealth() {
+        return ServiceHealth.builder()
+            .name(name)
+            .category(category)
+            .status(up ? "UP" : "DOWN")
+            .url(url)
+            .responseTimeMs(Duration.ofNanos(latencyNanos).toMillis())
+            .error(error)
+            .build();
+    }
+}
@@ -0,0 +1,239 @@
+package com.quckapp.admin.security.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the verification key of a token from the auth-service JWKS by its {@code kid}.
+ *
+ * Keys are held in an immutable map that is swapped on every refresh, so known key ids resolve
+ * with one lookup and no I/O. The document is refetched in the background before it expires.
+ * A token with an unknown key id waits for one refresh, at most {@code timeout}, so rotated keys
+ * are picked up without a restart; such refreshes are single-flight and at most one per
+ * {@code min-refresh-interval}, so a storm of forged key ids costs no more than one fetch.
+ * A failed fetch keeps the previous keys.
+ */
+@Slf4j
+public class JwksKeyLocator extends LocatorAdapter<Key> implements AutoCloseable {
+
+    private static final Set<String> ALGORITHMS = Set.of("RS256", "ES256");
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    /** Keys by id, and how long the document they came from may be cached. */
+    private record KeySet(Map<String, PublicKey> keys, Duration maxAge) {}
+
+    private final URI uri;
+    private final JwksProperties properties;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService refresher;
+    private final AtomicReference<CompletableFuture<Map<String, PublicKey>>> inFlight = new AtomicReference<>();
+    private final Counter refreshed;
+    private final Counter refreshFailed;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile Duration lastMaxAge;
+    private volatile boolean lastRefreshSucceeded;
+    private volatile long lastRefreshStartNanos;
+
+    public JwksKeyLocator(JwksProperties properties, MeterRegistry meterRegistry) {
+        this.uri = URI.create(properties.getUri());
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(properties.getTimeout()).build();
+        this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lastRefreshStartNanos = System.nanoTime() - properties.getMinRefreshInterval().toNanos();
+        this.refreshed = refreshCounter("success", meterRegistry);
+        this.refreshFailed = refreshCounter("failure", meterRegistry);
+        Gauge.builder("jwt.jwks.keys", this, locator -> locator.keys.size())
+            .description("Signing keys currently loaded from the JWKS")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Loads the keys once before the first request and schedules background refreshes. A failed
+     * first load is retried after {@code min-refresh-interval} rather than failing startup.
+     */
+    public void start() {
+        try {
+            refresh().get(properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Initial JWKS load from {} did not finish: {}", uri, e.getMessage());
+        }
+        scheduleRefresh();
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String algorithm = header.getAlgorithm();
+        if (!ALGORITHMS.contains(algorithm)) {
+            throw new UnsupportedJwtException("Signature algorithm " + algorithm + " is not accepted");
+        }
+        String keyId = header.getKeyId();
+        if (keyId == null) {
+            throw new MalformedJwtException("Token has no key id");
+        }
+        PublicKey key = keys.get(keyId);
+        if (key == null) {
+            key = refreshForUnknownKey().get(keyId);
+        }
+        if (key == null) {
+            throw new UnknownSigningKeyException(keyId);
+        }
+        return key;
+    }
+
+    // ===== Refresh =====
+
+    private Map<String, PublicKey> refreshForUnknownKey() {
+        CompletableFuture<Map<String, PublicKey>> running = inFlight.get();
+        if (running == null) {
+            if (System.nanoTime() - lastRefreshStartNanos < properties.getMinRefreshInterval().toNanos()) {
+                return keys;
+            }
+            running = refresh();
+        }
+        try {
+            return running.get(properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Waiting for JWKS refresh failed: {}", e.getMessage());
+        }
+        return keys;
+    }
+
+    /**
+     * Starts a fetch unless one is running, and returns the running one. The future completes
+     * with the keys in use afterwards, which are the previous ones when the fetch failed.
+     */
+    private CompletableFuture<Map<String, PublicKey>> refresh() {
+        CompletableFuture<Map<String, PublicKey>> future = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, future)) {
+            CompletableFuture<Map<String, PublicKey>> running = inFlight.get();
+            return running != null ? running : CompletableFuture.completedFuture(keys);
+        }
+        lastRefreshStartNanos = System.nanoTime();
+        refresher.execute(() -> {
+            try {
+                KeySet loaded = fetch();
+                keys = loaded.keys();
+                lastMaxAge = loaded.maxAge();
+                lastRefreshSucceeded = true;
+                refreshed.increment();
+                log.debug("Loaded {} JWKS keys from {}", loaded.keys().size(), uri);
+            } catch (Exception e) {
+                lastRefreshSucceeded = false;
+                refreshFailed.increment();
+                log.warn("JWKS refresh from {} failed, keeping {} known keys: {}", uri, keys.size(), e.getMessage());
+            } finally {
+                inFlight.compareAndSet(future, null);
+                future.complete(keys);
+            }
+        });
+        return future;
+    }
+
+    /** Schedules the next background refresh, sooner after a failed one. */
+    private void scheduleRefresh() {
+        if (refresher.isShutdown()) return;
+        Duration delay = lastRefreshSucceeded ? nextRefreshDelay(lastMaxAge) : properties.getMinRefreshInterval();
+        refresher.schedule(() -> refresh().whenComplete((result, error) -> scheduleRefresh()),
+            delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The refresh interval, or three quarters of a shorter max-age so keys are renewed before they
+     * expire, but never sooner than {@code min-refresh-interval}.
+     */
+    private Duration nextRefreshDelay(Duration maxAge) {
+        Duration interval = properties.getRefreshInterval();
+        if (maxAge == null) return interval;
+        Duration beforeExpiry = maxAge.multipliedBy(3).dividedBy(4);
+        if (beforeExpiry.compareTo(properties.getMinRefreshInterval()) < 0) return properties.getMinRefreshInterval();
+        return beforeExpiry.compareTo(interval) < 0 ? beforeExpiry : interval;
+    }
+
+    private KeySet fetch() throws IOException, InterruptedException {
+        if ("file".equals(uri.getScheme())) {
+            return new KeySet(parse(Files.readString(Path.of(uri))), null);
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(properties.getTimeout())
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("JWKS endpoint returned HTTP " + response.statusCode());
+        }
+        Duration maxAge = response.headers().firstValue("Cache-Control")
+            .map(MAX_AGE::matcher)
+            .filter(Matcher::find)
+            .map(m -> Duration.ofSeconds(Long.parseLong(m.group(1))))
+            .orElse(null);
+        return new KeySet(parse(response.body()), maxAge);
+    }
+
+    /** Public signing keys with an id; keys for encryption or of unsupported types are skipped. */
+    private static Map<String, PublicKey> parse(String json) {
+        JwkSet set = Jwks.setParser().build().parse(json);
+        Map<String, PublicKey> parsed = new HashMap<>();
+        for (Jwk<?> jwk : set) {
+            if (jwk instanceof PublicJwk<?> publicJwk && jwk.getId() != null
+                    && (publicJwk.getPublicKeyUse() == null || "sig".equals(publicJwk.getPublicKeyUse()))) {
+                parsed.put(jwk.getId(), publicJwk.toKey());
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+
+    private static Counter refreshCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("jwt.jwks.refreshes")
+            .tag("result", result)
+            .description("Fetches of the JWKS document")
+            .register(meterRegistry);
+    }
+}
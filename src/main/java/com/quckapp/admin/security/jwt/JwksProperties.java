@@ -0,0 +1,29 @@
+package com.quckapp.admin.security.jwt;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Where the auth-service publishes its token signing keys, bound from {@code jwt.jwks.*}.
+ *
+ * When a uri is set, tokens are verified with RS256/ES256 against these keys instead of the
+ * shared {@code jwt.secret}.
+ */
+@Data
+@ConfigurationProperties(prefix = "jwt.jwks")
+public class JwksProperties {
+
+    /** JWKS document, over http(s) or as a {@code file:} uri. */
+    private String uri;
+
+    /** Background refresh period; a shorter Cache-Control max-age on the document wins. */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /** Minimum time between refreshes triggered by tokens with an unknown key id. */
+    private Duration minRefreshInterval = Duration.ofSeconds(30);
+
+    /** How long a fetch, and a request waiting on one, may take. */
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -20,7 +20,6 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -60,28 +59,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String jwt = extractJwtFromRequest(request);
+            JwtUserPrincipal principal = StringUtils.hasText(jwt) ? jwtService.authenticate(jwt).orElse(null) : null;
 
-            if (StringUtils.hasText(jwt) && jwtService.validateToken(jwt)) {
-                String tokenType = jwtService.extractTokenType(jwt);
-
-                if (!"access".equals(tokenType)) {
-                    log.debug("Token type '{}' is not valid for API authentication", tokenType);
-                    filterChain.doFilter(request, response);
-                    return;
-                }
-
-                String userId = jwtService.extractUserId(jwt);
-                String email = jwtService.extractEmail(jwt);
-                String externalId = jwtService.extractExternalId(jwt);
-                String sessionId = jwtService.extractSessionId(jwt);
-
-                JwtUserPrincipal principal = JwtUserPrincipal.builder()
-                        .userId(UUID.fromString(userId))
-                        .email(email)
-                        .externalId(externalId)
-                        .sessionId(sessionId)
-                        .build();
-
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 principal,
@@ -92,7 +72,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                log.debug("Authenticated user '{}' from JWT", email);
+                log.debug("Authenticated user '{}' from JWT", principal.getEmail());
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
@@ -1,102 +1,193 @@
 package com.quckapp.admin.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT Service - Token validation only (no generation)
  *
- * This service validates JWT tokens issued by the auth-service.
- * It uses the same shared secret to verify token signatures.
+ * This service validates JWT tokens issued by the auth-service, either with the
+ * shared secret or against the auth-service's published keys (see {@code JwtConfig}).
+ *
+ * The parser is built once at startup; a token is verified in a single parse that also
+ * checks the issuer and expiry. Outcomes are cached by the SHA-256 digest of the token: accepted
+ * access tokens until the earlier of their expiry and {@code jwt.cache.max-ttl}, rejected tokens
+ * for {@code jwt.cache.negative-ttl} so repeated bad tokens are not verified again. Tokens signed
+ * with a key id the JWKS does not list yet are not cached, so they pass once the key is published.
  */
 @Service
 @Slf4j
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final String ACCESS_TOKEN_TYPE = "access";
 
-    @Value("${jwt.issuer:quckapp-auth-local}")
-    private String expectedIssuer;
+    /** SHA-256 of a token, held as four longs so keys stay small and compare without arrays. */
+    private record TokenDigest(long h0, long h1, long h2, long h3) {}
 
-    public String extractUserId(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    /** Outcome of verifying one token; a null principal marks a rejected token. */
+    private record Verified(JwtUserPrincipal principal, long expiresAtMillis) {}
+
+    private static final Verified REJECTED = new Verified(null, 0);
+    /** Rejected for an unknown key id; compared by identity and never kept in the cache. */
+    private static final Verified UNKNOWN_KEY = new Verified(null, 0);
+
+    private final JwtParser parser;
+    private final Cache<TokenDigest, Verified> verified;
+    private final Timer acceptedTimer;
+    private final Timer rejectedTimer;
 
-    public String extractEmail(String token) {
-        return extractClaim(token, claims -> claims.get("email", String.class));
+    public JwtService(JwtParser jwtParser,
+                      @Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+                      @Value("${jwt.cache.max-ttl:5m}") Duration cacheMaxTtl,
+                      @Value("${jwt.cache.negative-ttl:10s}") Duration cacheNegativeTtl,
+                      MeterRegistry meterRegistry) {
+        this.parser = jwtParser;
+        this.verified = cacheMaxSize > 0 ? buildCache(cacheMaxSize, cacheMaxTtl, cacheNegativeTtl, meterRegistry) : null;
+        this.acceptedTimer = verifyTimer("accepted", meterRegistry);
+        this.rejectedTimer = verifyTimer("rejected", meterRegistry);
     }
 
-    public String extractTokenType(String token) {
-        return extractClaim(token, claims -> claims.get("type", String.class));
+    /**
+     * Principal of a valid access token, served from the cache when the same token was seen
+     * before; empty for invalid tokens and for valid tokens of another type.
+     */
+    public Optional<JwtUserPrincipal> authenticate(String token) {
+        if (verified == null) {
+            return Optional.ofNullable(verifyAccessToken(token).principal());
+        }
+        return Optional.ofNullable(verified.get(digest(token), key -> verifyAccessToken(token)).principal());
     }
 
-    public String extractExternalId(String token) {
-        return extractClaim(token, claims -> claims.get("externalId", String.class));
+    /**
+     * Claims of a token with a valid signature, the expected issuer and no past expiry;
+     * empty for any other token. Never cached.
+     */
+    public Optional<Claims> verify(String token) {
+        try {
+            return Optional.of(parser.parseSignedClaims(token).getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
+            logRejection(e);
+            return Optional.empty();
+        }
     }
 
-    public String extractSessionId(String token) {
-        return extractClaim(token, claims -> claims.get("sessionId", String.class));
+    // ===== Private Helpers =====
+
+    private Verified verifyAccessToken(String token) {
+        long start = System.nanoTime();
+        Verified result;
+        try {
+            result = toVerified(parser.parseSignedClaims(token).getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
+            logRejection(e);
+            result = e instanceof UnknownSigningKeyException ? UNKNOWN_KEY : REJECTED;
+        }
+        (result.principal() != null ? acceptedTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
     }
 
-    public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Verified toVerified(Claims claims) {
+        String tokenType = claims.get("type", String.class);
+        if (!ACCESS_TOKEN_TYPE.equals(tokenType)) {
+            log.debug("Token type '{}' is not valid for API authentication", tokenType);
+            return REJECTED;
+        }
+        UUID userId;
+        try {
+            userId = UUID.fromString(claims.getSubject());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.warn("JWT subject is not a user id: {}", claims.getSubject());
+            return REJECTED;
+        }
+        JwtUserPrincipal principal = JwtUserPrincipal.builder()
+                .userId(userId)
+                .email(claims.get("email", String.class))
+                .externalId(claims.get("externalId", String.class))
+                .sessionId(claims.get("sessionId", String.class))
+                .build();
+        Date expiration = claims.getExpiration();
+        return new Verified(principal, expiration != null ? expiration.getTime() : Long.MAX_VALUE);
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static void logRejection(RuntimeException e) {
+        switch (e) {
+            case ExpiredJwtException expired -> log.warn("JWT token is expired: {}", e.getMessage());
+            case IncorrectClaimException incorrect -> log.warn("JWT issuer mismatch: {}", e.getMessage());
+            case MissingClaimException missing -> log.warn("JWT issuer mismatch: {}", e.getMessage());
+            case UnsupportedJwtException unsupported -> log.warn("JWT token is unsupported: {}", e.getMessage());
+            case MalformedJwtException malformed -> log.warn("JWT token is malformed: {}", e.getMessage());
+            case io.jsonwebtoken.security.SecurityException security -> log.warn("JWT signature validation failed: {}", e.getMessage());
+            case IllegalArgumentException empty -> log.warn("JWT claims string is empty: {}", e.getMessage());
+            default -> log.warn("JWT token is invalid: {}", e.getMessage());
+        }
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private static Cache<TokenDigest, Verified> buildCache(long maxSize, Duration maxTtl, Duration negativeTtl,
+                                                           MeterRegistry meterRegistry) {
+        long maxTtlNanos = maxTtl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+        Cache<TokenDigest, Verified> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<TokenDigest, Verified>() {
+                    @Override
+                    public long expireAfterCreate(TokenDigest key, Verified value, long currentTime) {
+                        if (value == UNKNOWN_KEY) return 0;
+                        if (value.principal() == null) return negativeTtlNanos;
+                        long untilExpiry = TimeUnit.MILLISECONDS.toNanos(value.expiresAtMillis() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TokenDigest key, Verified value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(TokenDigest key, Verified value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtTokens");
+        Gauge.builder("jwt.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of token verifications served from the verified-token cache")
+                .register(meterRegistry);
+        return cache;
     }
 
-    public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static Timer verifyTimer(String result, MeterRegistry meterRegistry) {
+        return Timer.builder("jwt.verify.duration")
+                .tag("result", result)
+                .description("Signature verification and claim parsing of tokens not in the cache")
+                .register(meterRegistry);
     }
 
-    public boolean validateToken(String token) {
+    private static TokenDigest digest(String token) {
         try {
-            Claims claims = extractAllClaims(token);
-            String issuer = claims.getIssuer();
-            if (!expectedIssuer.equals(issuer)) {
-                log.warn("JWT issuer mismatch. Expected: {}, Got: {}", expectedIssuer, issuer);
-                return false;
-            }
-            return !isTokenExpired(token);
-        } catch (ExpiredJwtException e) {
-            log.warn("JWT token is expired: {}", e.getMessage());
-            return false;
-        } catch (UnsupportedJwtException e) {
-            log.warn("JWT token is unsupported: {}", e.getMessage());
-            return false;
-        } catch (MalformedJwtException e) {
-            log.warn("JWT token is malformed: {}", e.getMessage());
-            return false;
-        } catch (SecurityException e) {
-            log.warn("JWT signature validation failed: {}", e.getMessage());
-            return false;
-        } catch (IllegalArgumentException e) {
-            log.warn("JWT claims string is empty: {}", e.getMessage());
-            return false;
+            ByteBuffer hash = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
@@ -0,0 +1,14 @@
+package com.quckapp.admin.security.jwt;
+
+import io.jsonwebtoken.security.InvalidKeyException;
+
+/**
+ * The token names a key id the JWKS does not publish yet. Unlike other rejections this may
+ * resolve itself on the next refresh, so the outcome is not cached.
+ */
+public class UnknownSigningKeyException extends InvalidKeyException {
+
+    public UnknownSigningKeyException(String keyId) {
+        super("Unknown signing key id " + keyId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.quckapp.admin.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Buckets held in this replica only, so each replica allows the full limit.
+ *
+ * Memory is bounded by {@code max-buckets} and idle buckets expire; a bucket dropped while still
+ * in use starts over full, which at worst lets that client burst once more.
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private record BucketKey(String route, String client) {}
+
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public LocalRateLimiter(RateLimitProperties properties) {
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxBuckets())
+            .expireAfterAccess(properties.getIdleTimeout())
+            .build();
+    }
+
+    @Override
+    public long tryAcquire(String route, RateLimitProperties.Route limit, String client) {
+        long now = System.nanoTime();
+        return buckets.get(new BucketKey(route, client), key -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now))
+            .tryAcquire(now);
+    }
+
+    long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,113 @@
+package com.quckapp.admin.security.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quckapp.admin.dto.AdminDtos.ApiResponse;
+import com.quckapp.admin.security.jwt.JwtUserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers {@code 429 Too Many Requests} with a {@code Retry-After} header once a client exceeds the
+ * limit of the route it calls. Runs after {@code JwtAuthenticationFilter} so authenticated callers
+ * are limited per user rather than per address.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private record LimitedRoute(String name, RateLimitProperties.Route limit, Counter allowed, Counter rejected) {}
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, LimitedRoute> routes = new LinkedHashMap<>();
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        properties.getRoutes().forEach((name, limit) -> routes.put(name, new LimitedRoute(name, limit,
+            requestCounter(name, "allowed", meterRegistry), requestCounter(name, "rejected", meterRegistry))));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || route(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        LimitedRoute route = route(request);
+        long waitNanos = rateLimiter.tryAcquire(route.name(), route.limit(), clientKey(request));
+        if (waitNanos == 0) {
+            route.allowed().increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        route.rejected().increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.debug("Rate limit of route '{}' exceeded, retry after {}s", route.name(), retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Too many requests"));
+    }
+
+    private LimitedRoute route(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (LimitedRoute route : routes.values()) {
+            for (String pattern : route.limit().getPatterns()) {
+                if (pathMatcher.match(pattern, path)) return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The authenticated user, else the remote address. Only identities the server has checked pick
+     * the bucket: anything the client can vary freely, such as an unchecked header, would hand it a
+     * fresh bucket per request. Behind a proxy the remote address comes from its forwarded headers
+     * ({@code server.forward-headers-strategy}).
+     */
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtUserPrincipal principal) {
+            return "user:" + principal.getUserId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static Counter requestCounter(String route, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("rate.limit.requests")
+            .tag("route", route)
+            .tag("result", result)
+            .description("Requests on rate-limited routes")
+            .register(meterRegistry);
+    }
+}
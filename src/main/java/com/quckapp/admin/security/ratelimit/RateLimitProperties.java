@@ -0,0 +1,56 @@
+package com.quckapp.admin.security.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request rate limits per route and client, bound from {@code rate-limit.*}.
+ *
+ * Clients are told apart by JWT subject, else by remote address. Requests matching no route are
+ * not limited.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    public enum Mode { LOCAL, REDIS }
+
+    private boolean enabled = true;
+
+    /** LOCAL limits each replica on its own; REDIS enforces the limits across the cluster. */
+    private Mode mode = Mode.LOCAL;
+
+    /** Buckets held in memory at most; the least recently used are dropped first. */
+    private long maxBuckets = 100_000;
+
+    /** Buckets not used for this long are dropped; by then they would be full again anyway. */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /** Limited routes by name, matched in order; the first route whose pattern matches applies. */
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    private Redis redis = new Redis();
+
+    @Data
+    public static class Route {
+        /** Ant-style servlet path patterns. */
+        private List<String> patterns = new ArrayList<>();
+        /** Requests a client may burst. */
+        private int capacity = 60;
+        /** Sustained requests per second. */
+        private double refillPerSecond = 10;
+    }
+
+    @Data
+    public static class Redis {
+        private String keyPrefix = "admin-service:rate-limit:";
+        /** Tokens a replica takes from the shared bucket at once and then hands out locally. */
+        private int batchSize = 10;
+    }
+}
@@ -0,0 +1,14 @@
+package com.quckapp.admin.security.ratelimit;
+
+/**
+ * Decides whether a client may make one more request on a route.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes one request from the client's bucket for the route.
+     *
+     * @return 0 when the request is allowed, otherwise the nanoseconds until it would be
+     */
+    long tryAcquire(String route, RateLimitProperties.Route limit, String client);
+}
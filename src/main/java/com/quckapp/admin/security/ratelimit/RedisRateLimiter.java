@@ -0,0 +1,108 @@
+package com.quckapp.admin.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cluster-wide buckets kept in Redis, drawn down in batches.
+ *
+ * A replica takes up to {@code batch-size} tokens from the shared bucket in one script call and
+ * hands them out locally with a compare-and-set, so only one request in a batch goes to Redis.
+ * After the shared bucket runs dry the replica rejects locally until the wait Redis reported has
+ * passed. Tokens taken by a replica count against the quota even if it never uses them, so the
+ * cluster may admit up to {@code batch-size} fewer requests per replica than the limit.
+ * When Redis fails, requests are limited by the local buckets instead.
+ */
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    /**
+     * Refills the bucket for the time since its last use, then grants up to the requested tokens.
+     * Returns the tokens granted or, when none were, the negated milliseconds until one is available.
+     */
+    private static final RedisScript<Long> TAKE_TOKENS = new DefaultRedisScript<>("""
+        local capacity = tonumber(ARGV[1])
+        local rate = tonumber(ARGV[2])
+        local requested = tonumber(ARGV[3])
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+        local tokens = tonumber(state[1]) or capacity
+        local last = tonumber(state[2]) or now
+        tokens = math.min(capacity, tokens + math.max(0, now - last) * rate / 1000)
+        local granted = math.min(requested, math.floor(tokens))
+        tokens = tokens - granted
+        redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+        redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate * 1000) + 1000)
+        if granted > 0 then return granted end
+        return -math.max(1, math.ceil((1 - tokens) * 1000 / rate))
+        """, Long.class);
+
+    /** Tokens this replica holds for one bucket, and until when the shared bucket is known to be empty. */
+    private static final class Lease {
+        final AtomicLong tokens = new AtomicLong();
+        volatile long emptyUntilNanos;
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitProperties.Redis settings;
+    private final RateLimiter fallback;
+    private final Cache<String, Lease> leases;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimitProperties properties, RateLimiter fallback) {
+        this.redisTemplate = redisTemplate;
+        this.settings = properties.getRedis();
+        this.fallback = fallback;
+        this.leases = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxBuckets())
+            .expireAfterAccess(properties.getIdleTimeout())
+            .build();
+    }
+
+    @Override
+    public long tryAcquire(String route, RateLimitProperties.Route limit, String client) {
+        String key = settings.getKeyPrefix() + route + ":" + client;
+        Lease lease = leases.get(key, k -> new Lease());
+        if (take(lease)) return 0;
+        long now = System.nanoTime();
+        if (lease.emptyUntilNanos - now > 0) return lease.emptyUntilNanos - now;
+        // One refill per lease at a time; everyone else waits for it instead of calling Redis too
+        synchronized (lease) {
+            if (take(lease)) return 0;
+            // Waiting for the lock may have taken a while, so the empty window is checked against a fresh clock
+            now = System.nanoTime();
+            if (lease.emptyUntilNanos - now > 0) return lease.emptyUntilNanos - now;
+            try {
+                long result = redisTemplate.execute(TAKE_TOKENS, List.of(key),
+                    String.valueOf(limit.getCapacity()), String.valueOf(limit.getRefillPerSecond()),
+                    String.valueOf(Math.min(settings.getBatchSize(), limit.getCapacity())));
+                if (result > 0) {
+                    lease.tokens.addAndGet(result - 1);
+                    return 0;
+                }
+                long wait = TimeUnit.MILLISECONDS.toNanos(Math.max(1, -result));
+                lease.emptyUntilNanos = now + wait;
+                return wait;
+            } catch (RuntimeException e) {
+                log.warn("Redis rate limiting failed for {}, limiting locally: {}", key, e.getMessage());
+                return fallback.tryAcquire(route, limit, client);
+            }
+        }
+    }
+
+    private static boolean take(Lease lease) {
+        while (true) {
+            long available = lease.tokens.get();
+            if (available <= 0) return false;
+            if (lease.tokens.compareAndSet(available, available - 1)) return true;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.quckapp.admin.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket held in a single {@link AtomicLong}: the time at which the bucket will be full
+ * again. Taking a token pushes that time one refill interval further; a token is available while
+ * it stays within one bucket capacity of now. Acquiring is one compare-and-set, with no lock and
+ * no separate token count to keep consistent with a timestamp.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000d / refillPerSecond));
+        this.capacityNanos = capacity * intervalNanos;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + intervalNanos;
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) return wait;
+            if (fullAt.compareAndSet(current, next)) return 0;
+        }
+    }
+}
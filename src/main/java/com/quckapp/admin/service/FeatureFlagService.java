@@ -7,13 +7,22 @@ import com.quckapp.admin.domain.repository.FeatureFlagRepository;
 import com.quckapp.admin.dto.AdminDtos.*;
 import com.quckapp.admin.exception.DuplicateResourceException;
 import com.quckapp.admin.exception.ResourceNotFoundException;
+import com.quckapp.admin.service.flag.CompiledFlag;
+import com.quckapp.admin.service.flag.FeatureFlagChangedEvent;
+import com.quckapp.admin.service.flag.FeatureFlagSnapshot;
+import com.quckapp.admin.service.flag.FeatureFlagSnapshotHolder;
+import com.quckapp.admin.service.flag.FlagDecision;
+import com.quckapp.admin.service.flag.TargetingRuleCompiler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -26,11 +35,15 @@ public class FeatureFlagService {
 
     private final FeatureFlagRepository flagRepository;
     private final ObjectMapper objectMapper;
+    private final FeatureFlagSnapshotHolder snapshotHolder;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @CacheEvict(value = "featureFlags", key = "#request.featureKey")
     public FeatureFlagResponse createFlag(FeatureFlagRequest request) {
         if (flagRepository.existsByFeatureKey(request.getFeatureKey())) {
             throw new DuplicateResourceException("Feature flag key already exists");
         }
+        TargetingRuleCompiler.compile(request.getTargetRules());
 
         FeatureFlag flag = FeatureFlag.builder()
             .featureKey(request.getFeatureKey())
@@ -43,11 +56,12 @@ public class FeatureFlagService {
             .build();
 
         flag = flagRepository.save(flag);
+        eventPublisher.publishEvent(FeatureFlagChangedEvent.upserted(snapshotHolder.compile(flag)));
         log.info("Created feature flag: {}", flag.getFeatureKey());
         return mapToResponse(flag);
     }
 
-    @Cacheable(value = "featureFlags", key = "#featureKey")
+    @Cacheable(value = "featureFlags", key = "#featureKey", sync = true)
     @Transactional(readOnly = true)
     public FeatureFlagResponse getFlagByKey(String featureKey) {
         FeatureFlag flag = flagRepository.findByFeatureKey(featureKey)
@@ -77,60 +91,64 @@ public class FeatureFlagService {
         if (request.getName() != null) flag.setName(request.getName());
         if (request.getDescription() != null) flag.setDescription(request.getDescription());
         flag.setEnabled(request.isEnabled());
-        if (request.getTargetRules() != null) flag.setTargetRules(toJson(request.getTargetRules()));
+        if (request.getTargetRules() != null) {
+            TargetingRuleCompiler.compile(request.getTargetRules());
+            flag.setTargetRules(toJson(request.getTargetRules()));
+        }
         flag.setRolloutPercentage(request.getRolloutPercentage());
 
         flag = flagRepository.save(flag);
+        eventPublisher.publishEvent(FeatureFlagChangedEvent.upserted(snapshotHolder.compile(flag)));
         log.info("Updated feature flag: {}", featureKey);
         return mapToResponse(flag);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Evaluates a flag against the in-memory snapshot; no database or cache round-trip.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public FeatureCheckResponse checkFeature(FeatureCheckRequest request) {
-        FeatureFlag flag = flagRepository.findByFeatureKey(request.getFeatureKey())
-            .orElse(null);
-
-        if (flag == null) {
-            return FeatureCheckResponse.builder()
-                .featureKey(request.getFeatureKey())
-                .enabled(false)
-                .reason("Feature flag not found")
-                .build();
-        }
+        CompiledFlag flag = snapshotHolder.current().get(request.getFeatureKey());
+        FlagDecision decision = flag == null
+            ? FlagDecision.NOT_FOUND
+            : flag.evaluate(request.getUserId(), request.getWorkspaceId(), request.getContext());
 
-        if (!flag.isEnabled()) {
-            return FeatureCheckResponse.builder()
-                .featureKey(request.getFeatureKey())
-                .enabled(false)
-                .reason("Feature is disabled")
-                .build();
-        }
-
-        // Check workspace scope
-        if (flag.getWorkspaceId() != null && !flag.getWorkspaceId().equals(request.getWorkspaceId())) {
-            return FeatureCheckResponse.builder()
-                .featureKey(request.getFeatureKey())
-                .enabled(false)
-                .reason("Feature not available for this workspace")
-                .build();
-        }
+        return toCheckResponse(request.getFeatureKey(), decision);
+    }
 
-        // Check rollout percentage
-        if (flag.getRolloutPercentage() < 100 && request.getUserId() != null) {
-            int userBucket = Math.abs(request.getUserId().hashCode() % 100);
-            if (userBucket >= flag.getRolloutPercentage()) {
-                return FeatureCheckResponse.builder()
-                    .featureKey(request.getFeatureKey())
-                    .enabled(false)
-                    .reason("User not in rollout group")
-                    .build();
+    /**
+     * Evaluates several flags for one user/workspace against a single snapshot, so every
+     * decision in the response comes from the same revision. When no keys are given, all
+     * global flags plus those scoped to the caller's workspace are returned.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FeatureBatchCheckResponse checkFeatures(FeatureBatchCheckRequest request) {
+        FeatureFlagSnapshot snapshot = snapshotHolder.current();
+        Map<String, FeatureCheckResponse> features = new LinkedHashMap<>();
+
+        if (request.getFeatureKeys() != null && !request.getFeatureKeys().isEmpty()) {
+            for (String featureKey : request.getFeatureKeys()) {
+                CompiledFlag flag = snapshot.get(featureKey);
+                FlagDecision decision = flag == null
+                    ? FlagDecision.NOT_FOUND
+                    : flag.evaluate(request.getUserId(), request.getWorkspaceId(), request.getContext());
+                features.put(featureKey, toCheckResponse(featureKey, decision));
+            }
+        } else {
+            for (CompiledFlag flag : snapshot.flags().values()) {
+                if (flag.workspaceId() != null && !flag.workspaceId().equals(request.getWorkspaceId())) {
+                    continue;
+                }
+                FlagDecision decision = flag.evaluate(request.getUserId(), request.getWorkspaceId(), request.getContext());
+                features.put(flag.featureKey(), toCheckResponse(flag.featureKey(), decision));
             }
         }
 
-        return FeatureCheckResponse.builder()
-            .featureKey(request.getFeatureKey())
-            .enabled(true)
-            .reason("Feature enabled")
+        return FeatureBatchCheckResponse.builder()
+            .userId(request.getUserId())
+            .workspaceId(request.getWorkspaceId())
+            .revision(snapshot.revision())
+            .features(features)
             .build();
     }
 
@@ -139,9 +157,18 @@ public class FeatureFlagService {
         FeatureFlag flag = flagRepository.findByFeatureKey(featureKey)
             .orElseThrow(() -> new ResourceNotFoundException("Feature flag not found"));
         flagRepository.delete(flag);
+        eventPublisher.publishEvent(FeatureFlagChangedEvent.deleted(featureKey));
         log.info("Deleted feature flag: {}", featureKey);
     }
 
+    private FeatureCheckResponse toCheckResponse(String featureKey, FlagDecision decision) {
+        return FeatureCheckResponse.builder()
+            .featureKey(featureKey)
+            .enabled(decision.isEnabled())
+            .reason(decision.getReason())
+            .build();
+    }
+
     private FeatureFlagResponse mapToResponse(FeatureFlag flag) {
         return FeatureFlagResponse.builder()
             .id(flag.getId())
@@ -149,7 +176,7 @@ public class FeatureFlagService {
             .name(flag.getName())
             .description(flag.getDescription())
             .enabled(flag.isEnabled())
-            .targetRules(fromJson(flag.getTargetRules()))
+            .targetRules(snapshotHolder.targetRulesOf(flag))
             .rolloutPercentage(flag.getRolloutPercentage())
             .workspaceId(flag.getWorkspaceId())
             .createdAt(flag.getCreatedAt())
@@ -166,15 +193,4 @@ public class FeatureFlagService {
             return null;
         }
     }
-
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> fromJson(String json) {
-        if (json == null) return null;
-        try {
-            return objectMapper.readValue(json, Map.class);
-        } catch (JsonProcessingException e) {
-            log.warn("Failed to deserialize from JSON", e);
-            return null;
-        }
-    }
 }
@@ -1,87 +1,149 @@
 package com.quckapp.admin.service;
 
 import com.quckapp.admin.dto.AdminDtos.*;
+import com.quckapp.admin.dto.ServiceUrlDtos.ServiceUrlResponse;
+import com.quckapp.admin.health.HealthCheckProperties;
+import com.quckapp.admin.health.ProbeCircuitBreaker;
+import com.quckapp.admin.health.ProbeResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Probes the active service URLs registered for an environment.
+ *
+ * Categories are probed side by side, each with its own concurrency limit and health path.
+ * A sweep completes when its slowest probe does, or at the configured deadline.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class HealthCheckService {
 
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${services.auth-service.url:http://localhost:8081}")
-    private String authServiceUrl;
+    private final WebClient healthCheckWebClient;
+    private final HealthCheckProperties properties;
+    private final ServiceUrlManagementService serviceUrlService;
 
-    @Value("${services.user-service.url:http://localhost:8082}")
-    private String userServiceUrl;
+    private final Map<String, ProbeCircuitBreaker> breakers = new ConcurrentHashMap<>();
 
-    @Value("${services.permission-service.url:http://localhost:8083}")
-    private String permissionServiceUrl;
+    /**
+     * Probes all services of the environment and summarizes the results.
+     */
+    public Mono<SystemHealthResponse> checkAllServices(String environment) {
+        return probeAll(environment)
+            .map(results -> summarize(environment, results.stream().map(ProbeResult::toServiceHealth).toList()));
+    }
 
-    @Value("${services.audit-service.url:http://localhost:8084}")
-    private String auditServiceUrl;
+    /**
+     * Probes all services of the environment. Services whose probe is still running at the sweep
+     * deadline are reported DOWN.
+     */
+    public Mono<List<ProbeResult>> probeAll(String environment) {
+        // The service list comes from the cached lookup; it is loaded off the calling thread all the same
+        return Mono.fromCallable(() -> serviceUrlService.getServiceUrlsByEnvironment(environment))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(services -> probe(environment, services.stream().filter(ServiceUrlResponse::isActive).toList()));
+    }
 
-    public SystemHealthResponse checkAllServices() {
-        Map<String, ServiceHealth> services = new HashMap<>();
+    public static SystemHealthResponse summarize(String environment, List<ServiceHealth> results) {
+        Map<String, ServiceHealth> services = new LinkedHashMap<>();
+        Map<String, List<ServiceHealth>> byCategory = new TreeMap<>();
+        for (ServiceHealth health : results) {
+            services.put(health.getName(), health);
+            byCategory.computeIfAbsent(health.getCategory(), c -> new ArrayList<>()).add(health);
+        }
 
-        services.put("auth-service", checkService("auth-service", authServiceUrl));
-        services.put("user-service", checkService("user-service", userServiceUrl));
-        services.put("permission-service", checkService("permission-service", permissionServiceUrl));
-        services.put("audit-service", checkService("audit-service", auditServiceUrl));
+        Map<String, CategoryHealth> categories = new LinkedHashMap<>();
+        byCategory.forEach((category, members) -> {
+            int up = (int) members.stream().filter(s -> "UP".equals(s.getStatus())).count();
+            categories.put(category, CategoryHealth.builder()
+                .status(up == members.size() ? "UP" : up == 0 ? "DOWN" : "DEGRADED")
+                .total(members.size())
+                .up(up)
+                .services(members.stream().map(ServiceHealth::getName).toList())
+                .build());
+        });
 
         String overallStatus = services.values().stream()
             .allMatch(s -> "UP".equals(s.getStatus())) ? "UP" : "DEGRADED";
 
         return SystemHealthResponse.builder()
             .status(overallStatus)
+            .environment(environment)
             .services(services)
+            .categories(categories)
             .timestamp(Instant.now())
             .build();
     }
 
-    private ServiceHealth checkService(String name, String url) {
-        long startTime = System.currentTimeMillis();
-        try {
-            String response = webClientBuilder.build()
-                .get()
-                .uri(url + "/actuator/health")
+    private Mono<List<ProbeResult>> probe(String environment, List<ServiceUrlResponse> services) {
+        Map<String, List<ServiceUrlResponse>> byCategory = services.stream()
+            .collect(Collectors.groupingBy(ServiceUrlResponse::getCategory, LinkedHashMap::new, Collectors.toList()));
+        List<Flux<ProbeResult>> sweeps = byCategory.entrySet().stream()
+            .map(category -> Flux.fromIterable(category.getValue())
+                .flatMap(service -> checkService(environment, service), properties.concurrency(category.getKey())))
+            .toList();
+
+        return Flux.merge(sweeps)
+            .take(properties.getDeadline())
+            .collectMap(ProbeResult::name)
+            .map(completed -> services.stream()
+                .map(service -> completed.getOrDefault(service.getServiceKey(), new ProbeResult(service.getServiceKey(),
+                    service.getCategory(), service.getUrl(), false, false, properties.getDeadline().toNanos(), "Deadline exceeded")))
+                .toList());
+    }
+
+    private Mono<ProbeResult> checkService(String environment, ServiceUrlResponse service) {
+        String name = service.getServiceKey();
+        String category = service.getCategory();
+        String url = service.getUrl();
+        return Mono.defer(() -> {
+            ProbeCircuitBreaker breaker = breakers.computeIfAbsent(environment + "/" + name,
+                key -> new ProbeCircuitBreaker(properties.getCircuitBreaker()));
+            long startTime = System.nanoTime();
+            if (!breaker.tryAcquire(startTime)) {
+                return Mono.just(ProbeResult.skipped(name, category, url, "Circuit open after repeated failures"));
+            }
+            return healthCheckWebClient.get()
+                .uri(healthUrl(url, category))
                 .retrieve()
                 .bodyToMono(String.class)
-                .timeout(Duration.ofSeconds(5))
-                .onErrorResume(e -> Mono.just("ERROR"))
-                .block();
-
-            long responseTime = System.currentTimeMillis() - startTime;
-
-            boolean isUp = response != null && response.contains("UP");
-            return ServiceHealth.builder()
-                .name(name)
-                .status(isUp ? "UP" : "DOWN")
-                .url(url)
-                .responseTimeMs(responseTime)
-                .build();
+                .timeout(properties.getProbeTimeout())
+                .map(response -> new ProbeResult(name, category, url, response.contains("UP"), false,
+                    System.nanoTime() - startTime, null))
+                .switchIfEmpty(Mono.fromSupplier(() ->
+                    new ProbeResult(name, category, url, false, false, System.nanoTime() - startTime, "Empty response")))
+                .onErrorResume(e -> {
+                    log.warn("Health check failed for {}: {}", name, e.getMessage());
+                    return Mono.just(new ProbeResult(name, category, url, false, false, System.nanoTime() - startTime, e.getMessage()));
+                })
+                .doOnNext(result -> {
+                    if (result.up()) {
+                        breaker.onSuccess();
+                    } else {
+                        breaker.onFailure(System.nanoTime());
+                    }
+                })
+                // Cut off by the sweep deadline: a failure too, and it must not leave a trial probe pending
+                .doOnCancel(() -> breaker.onFailure(System.nanoTime()));
+        });
+    }
 
-        } catch (Exception e) {
-            long responseTime = System.currentTimeMillis() - startTime;
-            log.warn("Health check failed for {}: {}", name, e.getMessage());
-            return ServiceHealth.builder()
-                .name(name)
-                .status("DOWN")
-                .url(url)
-                .responseTimeMs(responseTime)
-                .error(e.getMessage())
-                .build();
-        }
+    private String healthUrl(String url, String category) {
+        String base = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        return base + properties.healthPath(category);
     }
 }
@@ -6,9 +6,9 @@ import com.quckapp.admin.domain.entity.MaintenanceWindow;
 import com.quckapp.admin.domain.repository.MaintenanceWindowRepository;
 import com.quckapp.admin.dto.AdminDtos.*;
 import com.quckapp.admin.exception.ResourceNotFoundException;
+import com.quckapp.admin.service.maintenance.MaintenanceTransitionScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +24,7 @@ public class MaintenanceService {
 
     private final MaintenanceWindowRepository maintenanceRepository;
     private final ObjectMapper objectMapper;
+    private final MaintenanceTransitionScheduler transitionScheduler;
 
     public MaintenanceWindowResponse scheduleMaintenance(MaintenanceWindowRequest request, UUID createdBy) {
         if (request.getEndTime().isBefore(request.getStartTime())) {
@@ -42,6 +43,7 @@ public class MaintenanceService {
             .build();
 
         window = maintenanceRepository.save(window);
+        transitionScheduler.armAfterCommit(window);
         log.info("Scheduled maintenance window: {} from {} to {}", window.getTitle(), window.getStartTime(), window.getEndTime());
         return mapToResponse(window);
     }
@@ -73,6 +75,7 @@ public class MaintenanceService {
 
         window.setStatus(status);
         window = maintenanceRepository.save(window);
+        transitionScheduler.armAfterCommit(window);
         log.info("Updated maintenance window {} status to {}", id, status);
         return mapToResponse(window);
     }
@@ -87,34 +90,10 @@ public class MaintenanceService {
 
         window.setStatus(MaintenanceWindow.MaintenanceStatus.CANCELLED);
         maintenanceRepository.save(window);
+        transitionScheduler.armAfterCommit(window);
         log.info("Cancelled maintenance window: {}", id);
     }
 
-    @Scheduled(fixedRate = 60000) // Check every minute
-    public void autoUpdateMaintenanceStatus() {
-        Instant now = Instant.now();
-
-        // Start scheduled maintenance windows
-        maintenanceRepository.findByStatus(MaintenanceWindow.MaintenanceStatus.SCHEDULED)
-            .stream()
-            .filter(w -> w.getStartTime().isBefore(now) || w.getStartTime().equals(now))
-            .forEach(w -> {
-                w.setStatus(MaintenanceWindow.MaintenanceStatus.IN_PROGRESS);
-                maintenanceRepository.save(w);
-                log.info("Started maintenance window: {}", w.getId());
-            });
-
-        // Complete in-progress maintenance windows
-        maintenanceRepository.findByStatus(MaintenanceWindow.MaintenanceStatus.IN_PROGRESS)
-            .stream()
-            .filter(w -> w.getEndTime().isBefore(now))
-            .forEach(w -> {
-                w.setStatus(MaintenanceWindow.MaintenanceStatus.COMPLETED);
-                maintenanceRepository.save(w);
-                log.info("Completed maintenance window: {}", w.getId());
-            });
-    }
-
     @SuppressWarnings("unchecked")
     private MaintenanceWindowResponse mapToResponse(MaintenanceWindow window) {
         List<String> affectedServices = null;
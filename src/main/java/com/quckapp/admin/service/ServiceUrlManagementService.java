@@ -3,22 +3,47 @@ package com.quckapp.admin.service;
 import com.quckapp.admin.domain.entity.FirebaseEnvironmentConfig;
 import com.quckapp.admin.domain.entity.InfrastructureConfig;
 import com.quckapp.admin.domain.entity.ServiceUrlConfig;
+import com.quckapp.admin.domain.repository.EnvironmentConfigJdbcRepository;
 import com.quckapp.admin.domain.repository.FirebaseEnvironmentConfigRepository;
 import com.quckapp.admin.domain.repository.InfrastructureConfigRepository;
 import com.quckapp.admin.domain.repository.ServiceUrlConfigRepository;
+import com.quckapp.admin.domain.repository.VersionConfigRepository;
 import com.quckapp.admin.dto.ServiceUrlDtos.*;
 import com.quckapp.admin.exception.ResourceNotFoundException;
+import com.quckapp.admin.service.version.VersionMapChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,38 +54,76 @@ public class ServiceUrlManagementService {
     private final ServiceUrlConfigRepository serviceUrlRepo;
     private final InfrastructureConfigRepository infraRepo;
     private final FirebaseEnvironmentConfigRepository firebaseRepo;
+    private final VersionConfigRepository versionRepo;
+    private final EnvironmentConfigJdbcRepository jdbcRepo;
+    private final CacheManager cacheManager;
 
-    private static final List<String> VALID_ENVIRONMENTS = List.of(
+    private static final Object PENDING_EVICTIONS_KEY = new Object();
+
+    public static final List<String> VALID_ENVIRONMENTS = List.of(
         "local", "development", "qa", "uat1", "uat2", "uat3", "staging", "production"
     );
 
     // ===== Environment Operations =====
 
+    /**
+     * Summaries for every valid environment from four grouped queries, independent of the
+     * number of environments or rows. Cached until a service URL, infrastructure, Firebase
+     * or version write.
+     */
+    @Cacheable(value = "environmentSummaries", key = "'all'", sync = true)
     @Transactional(readOnly = true)
     public List<EnvironmentSummary> getEnvironments() {
-        return VALID_ENVIRONMENTS.stream().map(env -> {
-            long serviceCount = serviceUrlRepo.countByEnvironment(env);
-            long infraCount = infraRepo.countByEnvironment(env);
-            boolean hasFirebase = firebaseRepo.existsByEnvironment(env);
+        Map<String, Map<String, Long>> servicesByCategory = new HashMap<>();
+        Map<String, Instant> lastUpdated = new HashMap<>();
+        for (ServiceUrlConfigRepository.CategoryStats stats : serviceUrlRepo.summarizeByEnvironmentAndCategory()) {
+            servicesByCategory.computeIfAbsent(stats.getEnvironment(), env -> new TreeMap<>())
+                .put(stats.getCategory(), stats.getTotal());
+            if (stats.getLastUpdated() != null) {
+                lastUpdated.merge(stats.getEnvironment(), stats.getLastUpdated(), (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+
+        Map<String, Long> infraCounts = new HashMap<>();
+        infraRepo.countByEnvironmentGrouped().forEach(count -> infraCounts.put(count.getEnvironment(), count.getTotal()));
 
-            Instant lastUpdated = serviceUrlRepo.findByEnvironment(env).stream()
-                .map(ServiceUrlConfig::getUpdatedAt)
-                .max(Instant::compareTo)
-                .orElse(null);
+        Set<String> withFirebase = new HashSet<>(firebaseRepo.findAllEnvironments());
 
+        Map<String, Map<String, Long>> versionsByStatus = new HashMap<>();
+        for (VersionConfigRepository.StatusCount count : versionRepo.countByEnvironmentAndStatus()) {
+            versionsByStatus.computeIfAbsent(count.getEnvironment(), env -> new TreeMap<>())
+                .put(count.getStatus().name(), count.getTotal());
+        }
+
+        return VALID_ENVIRONMENTS.stream().map(env -> {
+            Map<String, Long> categories = servicesByCategory.getOrDefault(env, Map.of());
+            Map<String, Long> versions = versionsByStatus.getOrDefault(env, Map.of());
             return EnvironmentSummary.builder()
                 .environment(env)
-                .serviceCount(serviceCount)
-                .infraCount(infraCount)
-                .hasFirebase(hasFirebase)
-                .lastUpdated(lastUpdated)
+                .serviceCount(categories.values().stream().mapToLong(Long::longValue).sum())
+                .infraCount(infraCounts.getOrDefault(env, 0L))
+                .hasFirebase(withFirebase.contains(env))
+                .lastUpdated(lastUpdated.get(env))
+                .servicesByCategory(categories)
+                .versionCount(versions.values().stream().mapToLong(Long::longValue).sum())
+                .versionsByStatus(versions)
                 .build();
         }).toList();
     }
 
+    /**
+     * Version counts are part of the summaries; drop them once the version write has committed,
+     * so a summary rebuilt in between cannot cache the old counts.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @CacheEvict(value = "environmentSummaries", allEntries = true)
+    public void onVersionsChanged(VersionMapChangedEvent event) {
+        log.debug("Versions changed in {}, dropping environment summaries", event.environment());
+    }
+
     // ===== Service URL Operations =====
 
-    @Cacheable(value = "serviceUrls", key = "#environment")
+    @Cacheable(value = "serviceUrls", key = "#environment", sync = true)
     @Transactional(readOnly = true)
     public List<ServiceUrlResponse> getServiceUrlsByEnvironment(String environment) {
         validateEnvironment(environment);
@@ -85,7 +148,10 @@ public class ServiceUrlManagementService {
         return mapToServiceUrlResponse(config);
     }
 
-    @CacheEvict(value = "serviceUrls", key = "#environment")
+    @Caching(evict = {
+        @CacheEvict(value = "serviceUrls", key = "#environment"),
+        @CacheEvict(value = "environmentSummaries", allEntries = true)
+    })
     public ServiceUrlResponse upsertServiceUrl(String environment, CreateServiceUrlRequest request, UUID userId) {
         validateEnvironment(environment);
         ServiceUrlConfig config = serviceUrlRepo.findByEnvironmentAndServiceKey(environment, request.getServiceKey())
@@ -105,7 +171,10 @@ public class ServiceUrlManagementService {
         return mapToServiceUrlResponse(config);
     }
 
-    @CacheEvict(value = "serviceUrls", key = "#environment")
+    @Caching(evict = {
+        @CacheEvict(value = "serviceUrls", key = "#environment"),
+        @CacheEvict(value = "environmentSummaries", allEntries = true)
+    })
     public ServiceUrlResponse updateServiceUrl(String environment, String serviceKey, UpdateServiceUrlRequest request, UUID userId) {
         validateEnvironment(environment);
         ServiceUrlConfig config = serviceUrlRepo.findByEnvironmentAndServiceKey(environment, serviceKey)
@@ -121,7 +190,10 @@ public class ServiceUrlManagementService {
         return mapToServiceUrlResponse(config);
     }
 
-    @CacheEvict(value = "serviceUrls", key = "#environment")
+    @Caching(evict = {
+        @CacheEvict(value = "serviceUrls", key = "#environment"),
+        @CacheEvict(value = "environmentSummaries", allEntries = true)
+    })
     public void deleteServiceUrl(String environment, String serviceKey) {
         validateEnvironment(environment);
         serviceUrlRepo.deleteByEnvironmentAndServiceKey(environment, serviceKey);
@@ -130,7 +202,7 @@ public class ServiceUrlManagementService {
 
     // ===== Infrastructure Operations =====
 
-    @Cacheable(value = "infrastructure", key = "#environment")
+    @Cacheable(value = "infrastructure", key = "#environment", sync = true)
     @Transactional(readOnly = true)
     public List<InfrastructureResponse> getInfrastructureByEnvironment(String environment) {
         validateEnvironment(environment);
@@ -139,7 +211,10 @@ public class ServiceUrlManagementService {
             .toList();
     }
 
-    @CacheEvict(value = "infrastructure", key = "#environment")
+    @Caching(evict = {
+        @CacheEvict(value = "infrastructure", key = "#environment"),
+        @CacheEvict(value = "environmentSummaries", allEntries = true)
+    })
     public InfrastructureResponse upsertInfrastructure(String environment, CreateInfrastructureRequest request, UUID userId) {
         validateEnvironment(environment);
         InfrastructureConfig config = infraRepo.findByEnvironmentAndInfraKey(environment, request.getInfraKey())
@@ -161,7 +236,10 @@ public class ServiceUrlManagementService {
         return mapToInfraResponse(config);
     }
 
-    @CacheEvict(value = "infrastructure", key = "#environment")
+    @Caching(evict = {
+        @CacheEvict(value = "infrastructure", key = "#environment"),
+        @CacheEvict(value = "environmentSummaries", allEntries = true)
+    })
     public InfrastructureResponse updateInfrastructure(String environment, String infraKey, UpdateInfrastructureRequest request, UUID userId) {
         validateEnvironment(environment);
         InfrastructureConfig config = infraRepo.findByEnvironmentAndInfraKey(environment, infraKey)
@@ -190,6 +268,7 @@ public class ServiceUrlManagementService {
             .orElse(null);
     }
 
+    @CacheEvict(value = "environmentSummaries", allEntries = true)
     public FirebaseConfigResponse upsertFirebaseConfig(String environment, UpsertFirebaseConfigRequest request, UUID userId) {
         validateEnvironment(environment);
         FirebaseEnvironmentConfig config = firebaseRepo.findByEnvironment(environment)
@@ -222,73 +301,230 @@ public class ServiceUrlManagementService {
             .build();
     }
 
-    @CacheEvict(value = {"serviceUrls", "infrastructure"}, key = "#environment")
+    /**
+     * Imports service URLs and infrastructure with one batched upsert per table. Entries whose
+     * content hash matches the stored row are not written; the environment's caches are dropped
+     * once, after commit, and only if something changed.
+     */
     public BulkExportResponse bulkImport(String environment, BulkImportRequest request, UUID userId) {
         validateEnvironment(environment);
+        Instant now = Instant.now();
+
+        ImportCounts services = importServiceUrls(environment, request.getServices(), userId, now);
+        ImportCounts infrastructure = importInfrastructure(environment, request.getInfrastructure(), userId, now);
+
+        if (request.getFirebase() != null) {
+            upsertFirebaseConfig(environment, request.getFirebase(), userId);
+        }
+
+        if (request.getFirebase() != null || hasChanges(services) || hasChanges(infrastructure)) {
+            evictEnvironmentAfterCommit(environment);
+        }
+
+        log.info("Bulk imported configs for {}: services {}, infrastructure {}", environment, services, infrastructure);
+        BulkExportResponse response = bulkExport(environment);
+        response.setStats(ImportStats.builder()
+            .services(services)
+            .infrastructure(infrastructure)
+            .build());
+        return response;
+    }
 
-        if (request.getServices() != null) {
-            for (CreateServiceUrlRequest svc : request.getServices()) {
-                upsertServiceUrl(environment, svc, userId);
+    private ImportCounts importServiceUrls(String environment, List<CreateServiceUrlRequest> requests,
+                                           UUID userId, Instant now) {
+        ImportCounts counts = new ImportCounts();
+        if (requests == null || requests.isEmpty()) return counts;
+
+        Map<String, String> stored = jdbcRepo.findServiceUrls(environment).stream()
+            .collect(Collectors.toMap(ServiceUrlConfig::getServiceKey, ServiceUrlManagementService::contentHash));
+        // A key listed twice ends with its last entry, as it did with one upsert per entry
+        Map<String, ServiceUrlConfig> incoming = new LinkedHashMap<>();
+        for (CreateServiceUrlRequest svc : requests) {
+            incoming.put(svc.getServiceKey(), ServiceUrlConfig.builder()
+                .environment(environment)
+                .serviceKey(svc.getServiceKey())
+                .category(svc.getCategory())
+                .url(svc.getUrl())
+                .description(svc.getDescription())
+                .isActive(true)
+                .updatedBy(userId)
+                .build());
+        }
+
+        List<ServiceUrlConfig> changed = new ArrayList<>();
+        for (ServiceUrlConfig row : incoming.values()) {
+            if (count(counts, stored.get(row.getServiceKey()), contentHash(row))) {
+                changed.add(row);
             }
         }
+        jdbcRepo.upsertServiceUrls(changed, now);
+        return counts;
+    }
+
+    private ImportCounts importInfrastructure(String environment, List<CreateInfrastructureRequest> requests,
+                                              UUID userId, Instant now) {
+        ImportCounts counts = new ImportCounts();
+        if (requests == null || requests.isEmpty()) return counts;
+
+        Map<String, InfrastructureConfig> stored = jdbcRepo.findInfrastructure(environment).stream()
+            .collect(Collectors.toMap(InfrastructureConfig::getInfraKey, Function.identity()));
+        Map<String, InfrastructureConfig> incoming = new LinkedHashMap<>();
+        for (CreateInfrastructureRequest infra : requests) {
+            incoming.put(infra.getInfraKey(), InfrastructureConfig.builder()
+                .environment(environment)
+                .infraKey(infra.getInfraKey())
+                .host(infra.getHost())
+                .port(infra.getPort())
+                .username(infra.getUsername())
+                .passwordEncrypted(infra.getPassword())
+                .connectionString(infra.getConnectionString())
+                .isActive(true)
+                .updatedBy(userId)
+                .build());
+        }
 
-        if (request.getInfrastructure() != null) {
-            for (CreateInfrastructureRequest infra : request.getInfrastructure()) {
-                upsertInfrastructure(environment, infra, userId);
+        List<InfrastructureConfig> changed = new ArrayList<>();
+        for (InfrastructureConfig row : incoming.values()) {
+            InfrastructureConfig previous = stored.get(row.getInfraKey());
+            // Without a password the stored one is kept, so it is not a change either
+            String password = row.getPasswordEncrypted() == null && previous != null
+                ? previous.getPasswordEncrypted() : row.getPasswordEncrypted();
+            if (count(counts, previous != null ? contentHash(previous, previous.getPasswordEncrypted()) : null,
+                      contentHash(row, password))) {
+                changed.add(row);
             }
         }
+        jdbcRepo.upsertInfrastructure(changed, now);
+        return counts;
+    }
 
-        if (request.getFirebase() != null) {
-            upsertFirebaseConfig(environment, request.getFirebase(), userId);
+    /**
+     * Tallies one entry and tells whether it has to be written.
+     */
+    private static boolean count(ImportCounts counts, String storedHash, String incomingHash) {
+        if (storedHash == null) {
+            counts.setInserted(counts.getInserted() + 1);
+            return true;
         }
+        if (storedHash.equals(incomingHash)) {
+            counts.setUnchanged(counts.getUnchanged() + 1);
+            return false;
+        }
+        counts.setUpdated(counts.getUpdated() + 1);
+        return true;
+    }
 
-        log.info("Bulk imported configs for {}", environment);
-        return bulkExport(environment);
+    private static boolean hasChanges(ImportCounts counts) {
+        return counts.getInserted() + counts.getUpdated() > 0;
     }
 
-    @CacheEvict(value = {"serviceUrls", "infrastructure"}, allEntries = true)
+    /**
+     * Changes {@link #cloneEnvironment} would make, computed by the database without writing.
+     */
+    @Transactional(readOnly = true)
+    public CloneDiff previewClone(CloneEnvironmentRequest request) {
+        validateClone(request);
+        return diffClone(request.getSourceEnvironment(), request.getTargetEnvironment());
+    }
+
+    /**
+     * Copies service URLs and infrastructure with one {@code INSERT ... SELECT} per table,
+     * touching only keys that differ. Only the target environment's caches are evicted.
+     */
     public BulkExportResponse cloneEnvironment(CloneEnvironmentRequest request, UUID userId) {
-        validateEnvironment(request.getSourceEnvironment());
-        validateEnvironment(request.getTargetEnvironment());
+        validateClone(request);
+        String source = request.getSourceEnvironment();
+        String target = request.getTargetEnvironment();
+        CloneDiff diff = diffClone(source, target);
+        boolean servicesChanged = hasChanges(diff.getStats().getServices());
+        boolean infraChanged = hasChanges(diff.getStats().getInfrastructure());
+        boolean firebaseChanged = diff.getFirebase() != null && diff.getFirebase() != ChangeType.UNCHANGED;
+        Instant now = Instant.now();
+
+        if (servicesChanged) {
+            jdbcRepo.cloneServiceUrls(source, target, userId, now);
+        }
+        if (infraChanged) {
+            jdbcRepo.cloneInfrastructure(source, target, userId, now);
+        }
+        if (firebaseChanged) {
+            FirebaseEnvironmentConfig fb = firebaseRepo.findByEnvironment(source).orElseThrow();
+            upsertFirebaseConfig(target, UpsertFirebaseConfigRequest.builder()
+                .projectId(fb.getProjectId())
+                .clientEmail(fb.getClientEmail())
+                .privateKey(fb.getPrivateKeyEncrypted())
+                .storageBucket(fb.getStorageBucket())
+                .build(), userId);
+        }
 
-        // Clone service URLs
-        List<ServiceUrlConfig> sourceServices = serviceUrlRepo.findByEnvironment(request.getSourceEnvironment());
-        for (ServiceUrlConfig source : sourceServices) {
-            CreateServiceUrlRequest createReq = CreateServiceUrlRequest.builder()
-                .serviceKey(source.getServiceKey())
-                .category(source.getCategory())
-                .url(source.getUrl())
-                .description(source.getDescription())
-                .build();
-            upsertServiceUrl(request.getTargetEnvironment(), createReq, userId);
+        if (servicesChanged || infraChanged || firebaseChanged) {
+            evictEnvironmentAfterCommit(target);
         }
 
-        // Clone infrastructure
-        List<InfrastructureConfig> sourceInfra = infraRepo.findByEnvironment(request.getSourceEnvironment());
-        for (InfrastructureConfig source : sourceInfra) {
-            CreateInfrastructureRequest createReq = CreateInfrastructureRequest.builder()
-                .infraKey(source.getInfraKey())
-                .host(source.getHost())
-                .port(source.getPort())
-                .username(source.getUsername())
-                .connectionString(source.getConnectionString())
-                .build();
-            upsertInfrastructure(request.getTargetEnvironment(), createReq, userId);
+        log.info("Cloned environment {} -> {}: services {}, infrastructure {}, firebase {}",
+            source, target, diff.getStats().getServices(), diff.getStats().getInfrastructure(), diff.getFirebase());
+        BulkExportResponse response = bulkExport(target);
+        response.setStats(diff.getStats());
+        return response;
+    }
+
+    private void validateClone(CloneEnvironmentRequest request) {
+        validateEnvironment(request.getSourceEnvironment());
+        validateEnvironment(request.getTargetEnvironment());
+        if (request.getSourceEnvironment().equals(request.getTargetEnvironment())) {
+            throw new IllegalArgumentException("Source and target environment must differ");
         }
+    }
 
-        // Clone Firebase
-        firebaseRepo.findByEnvironment(request.getSourceEnvironment()).ifPresent(source -> {
-            UpsertFirebaseConfigRequest fbReq = UpsertFirebaseConfigRequest.builder()
-                .projectId(source.getProjectId())
-                .clientEmail(source.getClientEmail())
-                .privateKey(source.getPrivateKeyEncrypted())
-                .storageBucket(source.getStorageBucket())
-                .build();
-            upsertFirebaseConfig(request.getTargetEnvironment(), fbReq, userId);
-        });
+    private CloneDiff diffClone(String source, String target) {
+        List<KeyChange> services = toKeyChanges(jdbcRepo.diffServiceUrls(source, target));
+        List<KeyChange> infrastructure = toKeyChanges(jdbcRepo.diffInfrastructure(source, target));
+        return CloneDiff.builder()
+            .sourceEnvironment(source)
+            .targetEnvironment(target)
+            .services(services)
+            .infrastructure(infrastructure)
+            .firebase(diffFirebase(source, target))
+            .stats(ImportStats.builder()
+                .services(countChanges(services))
+                .infrastructure(countChanges(infrastructure))
+                .build())
+            .build();
+    }
 
-        log.info("Cloned environment {} -> {}", request.getSourceEnvironment(), request.getTargetEnvironment());
-        return bulkExport(request.getTargetEnvironment());
+    /**
+     * Firebase is a single row and copied field by field like an upsert, so absent source fields
+     * do not count as changes.
+     */
+    private ChangeType diffFirebase(String source, String target) {
+        FirebaseEnvironmentConfig from = firebaseRepo.findByEnvironment(source).orElse(null);
+        if (from == null) return null;
+        FirebaseEnvironmentConfig to = firebaseRepo.findByEnvironment(target).orElse(null);
+        if (to == null) return ChangeType.ADDED;
+        boolean same = to.isActive()
+            && (from.getProjectId() == null || from.getProjectId().equals(to.getProjectId()))
+            && (from.getClientEmail() == null || from.getClientEmail().equals(to.getClientEmail()))
+            && (from.getPrivateKeyEncrypted() == null || from.getPrivateKeyEncrypted().equals(to.getPrivateKeyEncrypted()))
+            && (from.getStorageBucket() == null || from.getStorageBucket().equals(to.getStorageBucket()));
+        return same ? ChangeType.UNCHANGED : ChangeType.CHANGED;
+    }
+
+    private static List<KeyChange> toKeyChanges(Map<String, String> changes) {
+        return changes.entrySet().stream()
+            .map(e -> new KeyChange(e.getKey(), ChangeType.valueOf(e.getValue())))
+            .toList();
+    }
+
+    private static ImportCounts countChanges(List<KeyChange> changes) {
+        ImportCounts counts = new ImportCounts();
+        for (KeyChange change : changes) {
+            switch (change.getChange()) {
+                case ADDED -> counts.setInserted(counts.getInserted() + 1);
+                case CHANGED -> counts.setUpdated(counts.getUpdated() + 1);
+                case UNCHANGED -> counts.setUnchanged(counts.getUnchanged() + 1);
+            }
+        }
+        return counts;
     }
 
     // ===== URL Validation =====
@@ -317,8 +553,74 @@ public class ServiceUrlManagementService {
         }
     }
 
+    // ===== Cache Eviction =====
+
+    /**
+     * Drops the environment's cached lists and the summaries once the transaction commits, once
+     * per environment however many rows were written. Runs after transaction synchronization is
+     * cleared, so the caches announce the eviction to other nodes right away.
+     */
+    private void evictEnvironmentAfterCommit(String environment) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictEnvironment(environment);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(PENDING_EVICTIONS_KEY);
+        if (pending == null) {
+            Set<String> created = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(PENDING_EVICTIONS_KEY, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_EVICTIONS_KEY);
+                    if (status == STATUS_COMMITTED) {
+                        created.forEach(ServiceUrlManagementService.this::evictEnvironment);
+                    }
+                }
+            });
+            pending = created;
+        }
+        pending.add(environment);
+    }
+
+    private void evictEnvironment(String environment) {
+        for (String cacheName : List.of("serviceUrls", "infrastructure")) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) cache.evict(environment);
+        }
+        Cache summaries = cacheManager.getCache("environmentSummaries");
+        if (summaries != null) summaries.clear();
+    }
+
     // ===== Private Helpers =====
 
+    private static String contentHash(ServiceUrlConfig config) {
+        return contentHash(config.getCategory(), config.getUrl(), config.getDescription(), config.isActive());
+    }
+
+    private static String contentHash(InfrastructureConfig config, String password) {
+        return contentHash(config.getHost(), config.getPort(), config.getUsername(), password,
+            config.getConnectionString(), config.isActive());
+    }
+
+    /**
+     * SHA-256 over the fields, each length-prefixed so neighbouring values cannot run together.
+     */
+    private static String contentHash(Object... fields) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object field : fields) {
+                byte[] bytes = field == null ? new byte[0] : field.toString().getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(field == null ? -1 : bytes.length).array());
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private void validateEnvironment(String environment) {
         if (!VALID_ENVIRONMENTS.contains(environment)) {
             throw new IllegalArgumentException("Invalid environment: " + environment +
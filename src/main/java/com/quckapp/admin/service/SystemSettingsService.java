@@ -43,7 +43,7 @@ public class SystemSettingsService {
         return mapToResponse(settings);
     }
 
-    @Cacheable(value = "systemSettings", key = "#key")
+    @Cacheable(value = "systemSettings", key = "#key", sync = true)
     @Transactional(readOnly = true)
     public SystemSettingResponse getSettingByKey(String key) {
         SystemSettings settings = settingsRepository.findBySettingKey(key)
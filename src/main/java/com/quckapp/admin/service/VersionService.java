@@ -5,9 +5,11 @@ import com.quckapp.admin.domain.repository.GlobalVersionConfigRepository;
 import com.quckapp.admin.domain.repository.VersionConfigRepository;
 import com.quckapp.admin.domain.repository.VersionProfileRepository;
 import com.quckapp.admin.dto.VersionDtos.*;
+import com.quckapp.admin.service.version.VersionMapChangedEvent;
 import com.quckapp.promotion.EnvironmentChain;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,9 +24,13 @@ import java.util.stream.Collectors;
 @Transactional
 public class VersionService {
 
+    /** Keys or ids per bulk lookup or update; keeps IN lists well below driver and optimizer limits. */
+    private static final int BULK_CHUNK_SIZE = 500;
+
     private final VersionConfigRepository versionRepo;
     private final GlobalVersionConfigRepository globalConfigRepo;
     private final VersionProfileRepository profileRepo;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ===== CRUD Operations =====
 
@@ -69,6 +75,7 @@ public class VersionService {
                 .build();
 
         config = versionRepo.save(config);
+        versionMapChanged(config.getEnvironment());
         log.info("Created version config: {} {} in {} [{}]",
                 config.getServiceKey(), config.getApiVersion(), config.getEnvironment(), config.getStatus());
         return toResponse(config);
@@ -86,6 +93,7 @@ public class VersionService {
         config.setUpdatedBy(updatedBy);
 
         config = versionRepo.save(config);
+        versionMapChanged(environment);
         log.info("Updated version config: {} {} in {}", serviceKey, apiVersion, environment);
         return toResponse(config);
     }
@@ -98,6 +106,7 @@ public class VersionService {
         }
 
         versionRepo.delete(config);
+        versionMapChanged(environment);
         log.info("Deleted version config: {} {} in {}", serviceKey, apiVersion, environment);
     }
 
@@ -114,6 +123,7 @@ public class VersionService {
         config.setStatus(VersionStatus.READY);
         config.setUpdatedBy(updatedBy);
         config = versionRepo.save(config);
+        versionMapChanged(environment);
         log.info("Marked READY: {} {} in {}", serviceKey, apiVersion, environment);
         return toResponse(config);
     }
@@ -131,6 +141,7 @@ public class VersionService {
         config.setStatus(VersionStatus.ACTIVE);
         config.setUpdatedBy(updatedBy);
         config = versionRepo.save(config);
+        versionMapChanged(environment);
 
         log.info("Activated: {} {} in {}", serviceKey, apiVersion, environment);
         return toResponse(config);
@@ -166,6 +177,7 @@ public class VersionService {
         }
 
         config = versionRepo.save(config);
+        versionMapChanged(environment);
         log.info("Deprecated: {} {} in {} (sunset: {})", serviceKey, apiVersion, environment, config.getSunsetDate());
         return toResponse(config);
     }
@@ -181,6 +193,7 @@ public class VersionService {
         config.setStatus(VersionStatus.DISABLED);
         config.setUpdatedBy(updatedBy);
         config = versionRepo.save(config);
+        versionMapChanged(environment);
         log.info("Disabled: {} {} in {}", serviceKey, apiVersion, environment);
         return toResponse(config);
     }
@@ -261,6 +274,7 @@ public class VersionService {
             versionResponse = toResponse(config);
         }
 
+        versionMapChanged(nextEnv);
         log.info("Promoted {} {} from {} to {} by {}", serviceKey, apiVersion, environment, nextEnv, promotedBy);
         return new PromotionResponse(environment, nextEnv, serviceKey, apiVersion, "PROMOTE", promotedBy, versionResponse);
     }
@@ -302,6 +316,7 @@ public class VersionService {
             versionResponse = toResponse(config);
         }
 
+        versionMapChanged(environment);
         log.warn("EMERGENCY activation: {} {} in {} by {} (approvers: {}, {}) [{}]",
                 serviceKey, apiVersion, environment, promotedBy,
                 request.approver1(), request.approver2(), request.jiraTicket());
@@ -311,48 +326,118 @@ public class VersionService {
 
     // ===== Bulk Operations =====
 
+    /**
+     * Plans one API version for many services: one lookup per chunk of service keys for rows that
+     * already exist, then all new rows inserted through JDBC batches.
+     */
     public List<VersionConfigResponse> bulkPlan(BulkPlanRequest request, String updatedBy) {
-        List<VersionConfigResponse> results = new ArrayList<>();
+        Map<String, VersionConfig> existing = new HashMap<>();
+        List<String> serviceKeys = List.copyOf(new LinkedHashSet<>(request.serviceKeys()));
+        for (int from = 0; from < serviceKeys.size(); from += BULK_CHUNK_SIZE) {
+            versionRepo.findByEnvironmentAndApiVersionAndServiceKeyIn(request.environment(), request.apiVersion(),
+                            serviceKeys.subList(from, Math.min(serviceKeys.size(), from + BULK_CHUNK_SIZE)))
+                    .forEach(v -> existing.put(v.getServiceKey(), v));
+        }
+
+        Map<String, VersionConfig> planned = new LinkedHashMap<>();
+        List<VersionConfig> results = new ArrayList<>(request.serviceKeys().size());
         for (String serviceKey : request.serviceKeys()) {
-            Optional<VersionConfig> existing = versionRepo.findByEnvironmentAndServiceKeyAndApiVersion(
-                    request.environment(), serviceKey, request.apiVersion());
-            if (existing.isPresent()) {
+            VersionConfig config = existing.get(serviceKey);
+            if (config != null) {
                 log.info("Skipping bulk plan for {} {} — already exists", serviceKey, request.apiVersion());
-                results.add(toResponse(existing.get()));
+                results.add(config);
                 continue;
             }
+            results.add(planned.computeIfAbsent(serviceKey, key -> VersionConfig.builder()
+                    .environment(request.environment())
+                    .serviceKey(key)
+                    .apiVersion(request.apiVersion())
+                    .status(VersionStatus.PLANNED)
+                    .changelog(request.changelog())
+                    .updatedBy(updatedBy)
+                    .build()));
+        }
 
-            CreateVersionRequest createReq = new CreateVersionRequest(
-                    request.environment(), serviceKey, request.apiVersion(),
-                    null, VersionStatus.PLANNED, null, null, request.changelog());
-            results.add(createVersion(createReq, updatedBy));
+        if (!planned.isEmpty()) {
+            versionRepo.saveAll(planned.values());
+            versionMapChanged(request.environment());
         }
-        return results;
+        log.info("Bulk planned {} in {}: created={}, existing={}",
+                request.apiVersion(), request.environment(), planned.size(), existing.size());
+        return results.stream().map(this::toResponse).toList();
     }
 
+    /**
+     * Activates every READY version (optionally of one API version) in a fixed number of statements:
+     * one query for the candidates, one for the promotion chain check of all of them, and batched
+     * conditional updates. Each candidate's outcome is reported instead of thrown.
+     */
     public BulkActivateResponse bulkActivate(String environment, String apiVersion, String updatedBy) {
-        List<VersionConfig> readyVersions = versionRepo.findByEnvironmentAndStatus(environment, VersionStatus.READY)
-                .stream()
-                .filter(v -> apiVersion == null || apiVersion.equals(v.getApiVersion()))
+        List<VersionConfig> readyVersions = apiVersion == null
+                ? versionRepo.findByEnvironmentAndStatus(environment, VersionStatus.READY)
+                : versionRepo.findByEnvironmentAndApiVersionAndStatus(environment, apiVersion, VersionStatus.READY);
+
+        List<BulkActivateResult> results = activateAll(environment, readyVersions, updatedBy);
+
+        int activated = (int) results.stream().filter(r -> r.outcome() == BulkActivateResult.Outcome.ACTIVATED).count();
+        int skipped = results.size() - activated;
+        List<String> errors = results.stream()
+                .filter(r -> r.outcome() != BulkActivateResult.Outcome.ACTIVATED)
+                .map(r -> r.serviceKey() + " " + r.apiVersion() + ": " + r.reason())
                 .toList();
 
-        int activated = 0;
-        int skipped = 0;
-        List<String> errors = new ArrayList<>();
+        log.info("Bulk activate in {}: activated={}, skipped={}", environment, activated, skipped);
+        return new BulkActivateResponse(environment, apiVersion, activated, skipped, errors, results);
+    }
 
-        for (VersionConfig config : readyVersions) {
-            try {
-                activate(environment, config.getServiceKey(), config.getApiVersion(), updatedBy);
-                activated++;
-            } catch (Exception e) {
-                skipped++;
-                errors.add(config.getServiceKey() + " " + config.getApiVersion() + ": " + e.getMessage());
-                log.warn("Bulk activate skipped {} {}: {}", config.getServiceKey(), config.getApiVersion(), e.getMessage());
+    /**
+     * Moves READY candidates to ACTIVE with one promotion chain query and batched conditional updates.
+     */
+    private List<BulkActivateResult> activateAll(String environment, List<VersionConfig> candidates, String updatedBy) {
+        Map<String, Set<String>> activeUpstream = activeVersionsUpstream(environment, candidates);
+        String previousEnv = EnvironmentChain.previousOf(environment);
+
+        List<VersionConfig> toActivate = new ArrayList<>();
+        List<BulkActivateResult> results = new ArrayList<>(candidates.size());
+        for (VersionConfig config : candidates) {
+            if (activeUpstream != null && !activeUpstream.getOrDefault(config.getServiceKey(), Set.of())
+                    .contains(config.getApiVersion())) {
+                results.add(new BulkActivateResult(config.getServiceKey(), config.getApiVersion(),
+                        BulkActivateResult.Outcome.BLOCKED_BY_CHAIN,
+                        "Cannot activate " + config.getServiceKey() + " " + config.getApiVersion() + " in " + environment
+                                + ": version must be ACTIVE in " + previousEnv + " first (environment promotion chain)"));
+            } else {
+                toActivate.add(config);
             }
         }
 
-        log.info("Bulk activate in {}: activated={}, skipped={}", environment, activated, skipped);
-        return new BulkActivateResponse(environment, apiVersion, activated, skipped, errors);
+        List<UUID> ids = toActivate.stream().map(VersionConfig::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            updated += versionRepo.transitionStatus(ids.subList(from, Math.min(ids.size(), from + BULK_CHUNK_SIZE)),
+                    VersionStatus.READY, VersionStatus.ACTIVE, updatedBy, now);
+        }
+
+        // Rows another writer moved out of READY (or deleted) in the meantime were not touched; find out which
+        Set<UUID> notUpdated = new HashSet<>();
+        if (updated < ids.size()) {
+            notUpdated.addAll(ids);
+            versionRepo.findAllById(ids).stream()
+                    .filter(v -> v.getStatus() == VersionStatus.ACTIVE)
+                    .forEach(v -> notUpdated.remove(v.getId()));
+        }
+        for (VersionConfig config : toActivate) {
+            results.add(notUpdated.contains(config.getId())
+                    ? new BulkActivateResult(config.getServiceKey(), config.getApiVersion(),
+                            BulkActivateResult.Outcome.STATUS_CHANGED, "Status changed by a concurrent update")
+                    : new BulkActivateResult(config.getServiceKey(), config.getApiVersion(),
+                            BulkActivateResult.Outcome.ACTIVATED, null));
+        }
+        if (updated > 0) {
+            versionMapChanged(environment);
+        }
+        return results;
     }
 
     // ===== Profile Operations =====
@@ -386,37 +471,63 @@ public class VersionService {
         return toProfileResponse(profile);
     }
 
+    /**
+     * Applies a profile with one lookup of the environment's rows for the profile's services, batched
+     * inserts for missing versions and, with {@code activateReady}, the set-based activation path.
+     */
     public ApplyProfileResponse applyProfile(UUID profileId, String environment, boolean activateReady, String updatedBy) {
         VersionProfile profile = profileRepo.findById(profileId)
                 .orElseThrow(() -> new IllegalArgumentException("Profile not found: " + profileId));
 
+        List<String> serviceKeys = profile.getEntries().stream().map(VersionProfileEntry::getServiceKey).distinct().toList();
+        Map<String, Map<String, VersionConfig>> existing = new HashMap<>();
+        for (int from = 0; from < serviceKeys.size(); from += BULK_CHUNK_SIZE) {
+            versionRepo.findByEnvironmentAndServiceKeyIn(environment,
+                            serviceKeys.subList(from, Math.min(serviceKeys.size(), from + BULK_CHUNK_SIZE)))
+                    .forEach(v -> existing.computeIfAbsent(v.getServiceKey(), key -> new HashMap<>()).put(v.getApiVersion(), v));
+        }
+
         int applied = 0;
         int skipped = 0;
-        List<String> errors = new ArrayList<>();
-
+        List<VersionConfig> toCreate = new ArrayList<>();
+        List<VersionConfig> toActivate = new ArrayList<>();
         for (VersionProfileEntry entry : profile.getEntries()) {
-            try {
-                Optional<VersionConfig> existing = versionRepo.findByEnvironmentAndServiceKeyAndApiVersion(
-                        environment, entry.getServiceKey(), entry.getApiVersion());
-
-                if (existing.isEmpty()) {
-                    // Create PLANNED version
-                    CreateVersionRequest createReq = new CreateVersionRequest(
-                            environment, entry.getServiceKey(), entry.getApiVersion(),
-                            entry.getReleaseVersion(), VersionStatus.PLANNED, null, null, null);
-                    createVersion(createReq, updatedBy);
-                    applied++;
-                } else if (activateReady && existing.get().getStatus() == VersionStatus.READY) {
-                    // Activate READY versions if flag is set
-                    activate(environment, entry.getServiceKey(), entry.getApiVersion(), updatedBy);
-                    applied++;
-                } else {
-                    skipped++;
-                }
-            } catch (Exception e) {
+            Map<String, VersionConfig> versions = existing.computeIfAbsent(entry.getServiceKey(), key -> new HashMap<>());
+            VersionConfig config = versions.get(entry.getApiVersion());
+            if (config == null) {
+                // Create PLANNED version
+                config = VersionConfig.builder()
+                        .environment(environment)
+                        .serviceKey(entry.getServiceKey())
+                        .apiVersion(entry.getApiVersion())
+                        .releaseVersion(entry.getReleaseVersion())
+                        .status(VersionStatus.PLANNED)
+                        .updatedBy(updatedBy)
+                        .build();
+                versions.put(entry.getApiVersion(), config);
+                toCreate.add(config);
+                applied++;
+            } else if (activateReady && config.getStatus() == VersionStatus.READY && !toActivate.contains(config)) {
+                // Activate READY versions if flag is set
+                toActivate.add(config);
+            } else {
                 skipped++;
-                errors.add(entry.getServiceKey() + " " + entry.getApiVersion() + ": " + e.getMessage());
-                log.warn("Apply profile skipped {} {}: {}", entry.getServiceKey(), entry.getApiVersion(), e.getMessage());
+            }
+        }
+
+        if (!toCreate.isEmpty()) {
+            versionRepo.saveAll(toCreate);
+            versionMapChanged(environment);
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (BulkActivateResult result : activateAll(environment, toActivate, updatedBy)) {
+            if (result.outcome() == BulkActivateResult.Outcome.ACTIVATED) {
+                applied++;
+            } else {
+                skipped++;
+                errors.add(result.serviceKey() + " " + result.apiVersion() + ": " + result.reason());
+                log.warn("Apply profile skipped {} {}: {}", result.serviceKey(), result.apiVersion(), result.reason());
             }
         }
 
@@ -447,6 +558,7 @@ public class VersionService {
         config.setUpdatedBy(updatedBy);
 
         config = globalConfigRepo.save(config);
+        versionMapChanged(environment);
         log.info("Updated global version config for {}: defaultVersion={}, sunsetDays={}",
                 environment, config.getDefaultApiVersion(), config.getDefaultSunsetDays());
         return toGlobalConfigResponse(config);
@@ -478,9 +590,20 @@ public class VersionService {
 
     // ===== Public Config =====
 
+    @Transactional(readOnly = true)
+    public List<String> listConfiguredEnvironments() {
+        return versionRepo.findDistinctEnvironments();
+    }
+
+    /**
+     * Builds the client-facing version map from the database. Clients are served the materialized
+     * copy kept by {@link com.quckapp.admin.service.version.PublicVersionMapHolder}; this only runs
+     * when that copy is rebuilt. Never writes: a missing global config yields the defaults.
+     */
     @Transactional(readOnly = true)
     public PublicVersionMapResponse getPublicVersionMap(String environment) {
-        GlobalVersionConfig globalConfig = getOrCreateGlobalConfig(environment);
+        GlobalVersionConfig globalConfig = globalConfigRepo.findByEnvironment(environment)
+                .orElseGet(() -> GlobalVersionConfig.builder().environment(environment).build());
         List<VersionConfig> allVersions = versionRepo.findByEnvironment(environment);
 
         // Group by serviceKey
@@ -552,6 +675,40 @@ public class VersionService {
         }
     }
 
+    /**
+     * Announces a change to the environment's public version map; the materialized copy is rebuilt after commit.
+     */
+    private void versionMapChanged(String environment) {
+        eventPublisher.publishEvent(new VersionMapChangedEvent(environment));
+    }
+
+    /**
+     * For the promotion chain check of many candidates at once: service key to the API versions ACTIVE
+     * in the environment before {@code environment} (any UAT variant when that is "uat"), loaded in one
+     * query. Returns {@code null} when the environment has no chain requirement.
+     */
+    private Map<String, Set<String>> activeVersionsUpstream(String environment, List<VersionConfig> candidates) {
+        if (EnvironmentChain.isUnrestricted(environment)) {
+            return null;
+        }
+        String previousEnv = EnvironmentChain.previousOf(environment);
+        if (previousEnv == null) {
+            return null;
+        }
+        if (candidates.isEmpty()) {
+            return Map.of();
+        }
+
+        List<String> upstreamEnvironments = "uat".equals(previousEnv) ? EnvironmentChain.uatVariants() : List.of(previousEnv);
+        Set<String> serviceKeys = candidates.stream().map(VersionConfig::getServiceKey).collect(Collectors.toSet());
+        Map<String, Set<String>> active = new HashMap<>();
+        for (VersionConfig upstream : versionRepo.findByEnvironmentInAndServiceKeyInAndStatus(
+                upstreamEnvironments, serviceKeys, VersionStatus.ACTIVE)) {
+            active.computeIfAbsent(upstream.getServiceKey(), key -> new HashSet<>()).add(upstream.getApiVersion());
+        }
+        return active;
+    }
+
     private VersionConfig findVersion(String environment, String serviceKey, String apiVersion) {
         return versionRepo.findByEnvironmentAndServiceKeyAndApiVersion(environment, serviceKey, apiVersion)
                 .orElseThrow(() -> new IllegalArgumentException(
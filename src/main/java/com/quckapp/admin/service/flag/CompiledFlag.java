@@ -0,0 +1,65 @@
+package com.quckapp.admin.service.flag;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Immutable, pre-processed view of a {@link com.quckapp.admin.domain.entity.FeatureFlag} row.
+ *
+ * Everything needed to evaluate the flag is resolved when the snapshot is built,
+ * so {@link #evaluate(UUID, UUID, Map)} only reads final fields. {@code targetRulesJson}
+ * is the stored rule text and is used to reuse the compiled {@code targeting} tree
+ * across snapshots until the rules change.
+ */
+public record CompiledFlag(
+    UUID id,
+    String featureKey,
+    boolean enabled,
+    int rolloutPercentage,
+    UUID workspaceId,
+    String targetRulesJson,
+    Map<String, Object> targetRules,
+    TargetingRule targeting,
+    Instant updatedAt
+) {
+
+    public FlagDecision evaluate(UUID userId, UUID requestWorkspaceId, Map<String, Object> attributes) {
+        if (!enabled) {
+            return FlagDecision.DISABLED;
+        }
+
+        // Check workspace scope
+        if (workspaceId != null && !workspaceId.equals(requestWorkspaceId)) {
+            return FlagDecision.WORKSPACE_MISMATCH;
+        }
+
+        // Check targeting rules
+        if (!targeting.matches(attributes)) {
+            return FlagDecision.NOT_TARGETED;
+        }
+
+        // Check rollout percentage
+        if (rolloutPercentage < 100 && userId != null) {
+            int userBucket = Math.abs(userId.hashCode() % 100);
+            if (userBucket >= rolloutPercentage) {
+                return FlagDecision.NOT_IN_ROLLOUT;
+            }
+        }
+
+        return FlagDecision.ENABLED;
+    }
+
+    /**
+     * True if both describe the same flag definition; derived fields and timestamps are ignored.
+     */
+    public boolean sameDefinition(CompiledFlag other) {
+        return other != null
+            && enabled == other.enabled
+            && rolloutPercentage == other.rolloutPercentage
+            && Objects.equals(id, other.id)
+            && Objects.equals(workspaceId, other.workspaceId)
+            && Objects.equals(targetRulesJson, other.targetRulesJson);
+    }
+}
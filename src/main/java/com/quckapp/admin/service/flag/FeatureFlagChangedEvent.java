@@ -0,0 +1,20 @@
+package com.quckapp.admin.service.flag;
+
+/**
+ * Published by {@link com.quckapp.admin.service.FeatureFlagService} when a flag is written.
+ * A {@code null} flag means the key was deleted.
+ */
+public record FeatureFlagChangedEvent(String featureKey, CompiledFlag flag) {
+
+    public static FeatureFlagChangedEvent upserted(CompiledFlag flag) {
+        return new FeatureFlagChangedEvent(flag.featureKey(), flag);
+    }
+
+    public static FeatureFlagChangedEvent deleted(String featureKey) {
+        return new FeatureFlagChangedEvent(featureKey, null);
+    }
+
+    public boolean isDeletion() {
+        return flag == null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.quckapp.admin.service.flag;
+
+/**
+ * A single change between two consecutive snapshot revisions. {@code flag} is {@code null} for deletions.
+ */
+public record FeatureFlagDelta(long revision, Type type, String featureKey, CompiledFlag flag) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,21 @@
+package com.quckapp.admin.service.flag;
+
+import java.util.Map;
+
+/**
+ * Versioned, immutable set of all compiled feature flags known to this node.
+ *
+ * A new instance is published for every change; readers never observe a partially applied update.
+ */
+public record FeatureFlagSnapshot(long revision, Map<String, CompiledFlag> flags) {
+
+    public static final FeatureFlagSnapshot EMPTY = new FeatureFlagSnapshot(0L, Map.of());
+
+    public CompiledFlag get(String featureKey) {
+        return flags.get(featureKey);
+    }
+
+    public int size() {
+        return flags.size();
+    }
+}
@@ -0,0 +1,10 @@
+package com.quckapp.admin.service.flag;
+
+import java.util.List;
+
+/**
+ * Published by {@link FeatureFlagSnapshotHolder} after a new snapshot is installed, with the
+ * deltas that lead to it in revision order.
+ */
+public record FeatureFlagSnapshotChangedEvent(FeatureFlagSnapshot snapshot, List<FeatureFlagDelta> deltas) {
+}
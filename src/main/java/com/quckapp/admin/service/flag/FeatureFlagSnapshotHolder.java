@@ -0,0 +1,242 @@
+package com.quckapp.admin.service.flag;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quckapp.admin.cache.RemoteCacheInvalidationEvent;
+import com.quckapp.admin.domain.entity.FeatureFlag;
+import com.quckapp.admin.domain.repository.FeatureFlagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Holds the current {@link FeatureFlagSnapshot} for in-process flag evaluation.
+ *
+ * Local writes are applied when their transaction commits; a periodic full reload, or
+ * an invalidation broadcast by another replica, picks up changes committed elsewhere.
+ * Every installed change advances the revision and is announced as a {@link FeatureFlagSnapshotChangedEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeatureFlagSnapshotHolder {
+
+    private static final String FLAG_CACHE = "featureFlags";
+
+    private final FeatureFlagRepository flagRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private volatile FeatureFlagSnapshot snapshot;
+
+    public FeatureFlagSnapshot current() {
+        FeatureFlagSnapshot current = snapshot;
+        if (current == null) {
+            current = reload();
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${feature-flags.snapshot.refresh-interval-ms:30000}",
+               initialDelayString = "${feature-flags.snapshot.refresh-interval-ms:30000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Feature flag snapshot reload failed, keeping current revision: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot from the database. The read happens under the writer lock so a
+     * concurrently committed local change can never be overwritten by an older view.
+     * Differences to the current snapshot are published as deltas.
+     */
+    public synchronized FeatureFlagSnapshot reload() {
+        List<FeatureFlag> rows = flagRepository.findAll();
+        Map<String, CompiledFlag> loaded = new HashMap<>(rows.size() * 2);
+        for (FeatureFlag row : rows) {
+            loaded.put(row.getFeatureKey(), compile(row));
+        }
+
+        if (snapshot == null) {
+            snapshot = new FeatureFlagSnapshot(1L, Collections.unmodifiableMap(loaded));
+            log.debug("Loaded feature flag snapshot revision 1 with {} flags", loaded.size());
+            return snapshot;
+        }
+
+        long revision = snapshot.revision();
+        List<FeatureFlagDelta> deltas = new ArrayList<>();
+        for (CompiledFlag flag : loaded.values()) {
+            CompiledFlag previous = snapshot.get(flag.featureKey());
+            if (previous == null) {
+                deltas.add(new FeatureFlagDelta(++revision, FeatureFlagDelta.Type.CREATED, flag.featureKey(), flag));
+            } else if (!previous.sameDefinition(flag)) {
+                deltas.add(new FeatureFlagDelta(++revision, FeatureFlagDelta.Type.UPDATED, flag.featureKey(), flag));
+            }
+        }
+        for (String featureKey : snapshot.flags().keySet()) {
+            if (!loaded.containsKey(featureKey)) {
+                deltas.add(new FeatureFlagDelta(++revision, FeatureFlagDelta.Type.DELETED, featureKey, null));
+            }
+        }
+
+        if (!deltas.isEmpty()) {
+            install(new FeatureFlagSnapshot(revision, Collections.unmodifiableMap(loaded)), deltas);
+            log.debug("Reloaded feature flag snapshot revision {} with {} changes", revision, deltas.size());
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onFlagChanged(FeatureFlagChangedEvent event) {
+        if (snapshot == null) {
+            reload();
+            return;
+        }
+
+        CompiledFlag previous = snapshot.get(event.featureKey());
+        FeatureFlagDelta.Type type;
+        if (event.isDeletion()) {
+            if (previous == null) return;
+            type = FeatureFlagDelta.Type.DELETED;
+        } else if (previous == null) {
+            type = FeatureFlagDelta.Type.CREATED;
+        } else if (!previous.sameDefinition(event.flag())) {
+            type = FeatureFlagDelta.Type.UPDATED;
+        } else {
+            return;
+        }
+
+        Map<String, CompiledFlag> flags = new HashMap<>(snapshot.flags());
+        if (event.isDeletion()) {
+            flags.remove(event.featureKey());
+        } else {
+            flags.put(event.featureKey(), event.flag());
+        }
+
+        long revision = snapshot.revision() + 1;
+        install(new FeatureFlagSnapshot(revision, Collections.unmodifiableMap(flags)),
+            List.of(new FeatureFlagDelta(revision, type, event.featureKey(), event.flag())));
+        log.debug("Applied change to {} at feature flag snapshot revision {}", event.featureKey(), revision);
+    }
+
+    /**
+     * Another replica changed a flag: reload now instead of waiting for the next scheduled refresh.
+     */
+    @EventListener
+    public void onRemoteInvalidation(RemoteCacheInvalidationEvent event) {
+        if (event.affects(FLAG_CACHE)) {
+            scheduledReload();
+        }
+    }
+
+    /**
+     * Identifies this process's revision sequence; revisions are only comparable within one epoch.
+     */
+    public String getEpoch() {
+        return epoch;
+    }
+
+    private void install(FeatureFlagSnapshot next, List<FeatureFlagDelta> deltas) {
+        snapshot = next;
+        eventPublisher.publishEvent(new FeatureFlagSnapshotChangedEvent(next, deltas));
+    }
+
+    /**
+     * Compiles a flag row. Parsed and compiled rules are reused from the current snapshot
+     * while the stored rule text is unchanged, so rules are compiled once per revision.
+     */
+    public CompiledFlag compile(FeatureFlag flag) {
+        String json = flag.getTargetRules();
+        Map<String, Object> targetRules = null;
+        TargetingRule targeting = TargetingRule.MATCH_ALL;
+
+        CompiledFlag previous = snapshot == null ? null : snapshot.get(flag.getFeatureKey());
+        if (previous != null && Objects.equals(previous.targetRulesJson(), json)) {
+            targetRules = previous.targetRules();
+            targeting = previous.targeting();
+        } else if (json != null) {
+            targetRules = parseTargetRules(json);
+            try {
+                targeting = TargetingRuleCompiler.compile(targetRules);
+            } catch (IllegalArgumentException e) {
+                // Rows written before rule validation existed: keep the old behaviour of ignoring them
+                log.warn("Ignoring target rules of feature flag {}: {}", flag.getFeatureKey(), e.getMessage());
+            }
+        }
+
+        return new CompiledFlag(
+            flag.getId(),
+            flag.getFeatureKey(),
+            flag.isEnabled(),
+            flag.getRolloutPercentage(),
+            flag.getWorkspaceId(),
+            json,
+            targetRules,
+            targeting,
+            flag.getUpdatedAt()
+        );
+    }
+
+    /**
+     * Parsed target rules for a flag row, taken from the snapshot when the stored text matches.
+     * The rules are immutable at every level, so they are shared with the snapshot, not copied.
+     */
+    public Map<String, Object> targetRulesOf(FeatureFlag flag) {
+        String json = flag.getTargetRules();
+        if (json == null) return null;
+        CompiledFlag cached = snapshot == null ? null : snapshot.get(flag.getFeatureKey());
+        return cached != null && json.equals(cached.targetRulesJson())
+            ? cached.targetRules()
+            : parseTargetRules(json);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parseTargetRules(String json) {
+        if (json == null) return null;
+        try {
+            return (Map<String, Object>) immutableCopy(objectMapper.readValue(json, Map.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to parse target rules", e);
+            return null;
+        }
+    }
+
+    /**
+     * Copies parsed JSON into unmodifiable maps and lists, all the way down; JSON nulls are kept.
+     */
+    private static Object immutableCopy(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>(map.size() * 2);
+            map.forEach((key, element) -> copy.put(key, immutableCopy(element)));
+            return Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(element -> copy.add(immutableCopy(element)));
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+}
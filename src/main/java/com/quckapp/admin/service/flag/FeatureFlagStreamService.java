@@ -0,0 +1,304 @@
+package com.quckapp.admin.service.flag;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quckapp.admin.dto.AdminDtos.*;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events fan-out of feature flag changes.
+ *
+ * A new subscriber receives a {@code snapshot} event, then one {@code flag} event per delta.
+ * Event ids are {@code <epoch>:<revision>}; a reconnect with a {@code Last-Event-ID} from the
+ * same epoch that is still inside the retained delta window is resumed with only the missed
+ * deltas. Connections are async servlet requests, so idle subscribers hold no request thread.
+ *
+ * Every subscriber has its own queue, drained by a virtual thread, so a client that stops reading
+ * only stalls itself; once its queue passes {@code max-pending} events it is disconnected and
+ * resumes from its last event id when it reconnects. Nothing is sent while holding the lock.
+ */
+@Service
+@Slf4j
+public class FeatureFlagStreamService {
+
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String DELTA_EVENT = "flag";
+
+    private final FeatureFlagSnapshotHolder snapshotHolder;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final int retainedDeltas;
+    private final int maxPending;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Deque<SerializedDelta> history = new ArrayDeque<>();
+    private final Object lock = new Object();
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("feature-flag-stream-", 0).factory());
+
+    public FeatureFlagStreamService(FeatureFlagSnapshotHolder snapshotHolder,
+                                    ObjectMapper objectMapper,
+                                    @Value("${feature-flags.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+                                    @Value("${feature-flags.stream.retained-deltas:1024}") int retainedDeltas,
+                                    @Value("${feature-flags.stream.max-pending:256}") int maxPending) {
+        this.snapshotHolder = snapshotHolder;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.retainedDeltas = retainedDeltas;
+        this.maxPending = maxPending;
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        Subscriber subscriber = new Subscriber(newEmitter());
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Registration and queueing the catch-up share the lock with broadcasts, so each delta after
+        // the catch-up is queued exactly once; deltas the snapshot already contains are skipped
+        synchronized (lock) {
+            List<SerializedDelta> missed = resumableDeltas(lastEventId);
+            if (missed != null) {
+                subscriber.revision = missed.isEmpty() ? lastRevision(lastEventId) : missed.getLast().revision();
+                missed.forEach(subscriber::offer);
+            } else {
+                FeatureFlagSnapshot snapshot = snapshotHolder.current();
+                subscriber.revision = snapshot.revision();
+                subscriber.offer(snapshotEvent(snapshot));
+            }
+            subscribers.add(subscriber);
+        }
+        log.debug("Feature flag stream subscriber added ({} active)", subscribers.size());
+        return subscriber.emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onSnapshotChanged(FeatureFlagSnapshotChangedEvent event) {
+        List<SerializedDelta> serialized = new ArrayList<>(event.deltas().size());
+        for (FeatureFlagDelta delta : event.deltas()) {
+            serialized.add(serialize(delta));
+        }
+        broadcast(serialized);
+    }
+
+    @Scheduled(fixedRateString = "${feature-flags.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(emitterTimeoutMs);
+    }
+
+    private void broadcast(List<SerializedDelta> deltas) {
+        synchronized (lock) {
+            for (SerializedDelta delta : deltas) {
+                history.addLast(delta);
+                while (history.size() > retainedDeltas) {
+                    history.removeFirst();
+                }
+                for (Subscriber subscriber : subscribers) {
+                    if (delta.revision() > subscriber.revision) {
+                        subscriber.revision = delta.revision();
+                        subscriber.offer(delta);
+                    }
+                }
+            }
+        }
+    }
+
+    // ===== Subscribers =====
+
+    /**
+     * One connection: events waiting to be sent, sent in order by at most one drain at a time.
+     * {@code revision} is the newest revision queued, guarded by the service lock.
+     */
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pendingCount = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        long revision;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /** Queues a {@link SerializedDelta} or a prepared event; drops the subscriber when it lags too far. */
+        void offer(Object event) {
+            if (pendingCount.incrementAndGet() > maxPending) {
+                log.debug("Disconnecting feature flag stream subscriber with {} unsent events", maxPending);
+                drop();
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        void drain() {
+            try {
+                Object event;
+                while ((event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(event instanceof SerializedDelta delta ? deltaEvent(delta) : (SseEmitter.SseEventBuilder) event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Leaves draining set: nothing more is sent to a dead connection
+                drop();
+                return;
+            }
+            draining.set(false);
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void drop() {
+            subscribers.remove(this);
+            pending.clear();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed
+            }
+        }
+    }
+
+    /**
+     * Deltas newer than {@code lastEventId}, or {@code null} if the client must start from a snapshot.
+     */
+    private List<SerializedDelta> resumableDeltas(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) return null;
+
+        int separator = lastEventId.lastIndexOf(':');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(snapshotHolder.getEpoch())) return null;
+
+        long revision;
+        try {
+            revision = lastRevision(lastEventId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        long current = snapshotHolder.current().revision();
+        if (revision > current) return null;
+        if (revision == current) return List.of();
+
+        long oldestRetained = history.isEmpty() ? Long.MAX_VALUE : history.peekFirst().revision();
+        if (revision + 1 < oldestRetained) return null;
+
+        List<SerializedDelta> missed = new ArrayList<>();
+        for (SerializedDelta delta : history) {
+            if (delta.revision() > revision) missed.add(delta);
+        }
+        return missed;
+    }
+
+    private static long lastRevision(String lastEventId) {
+        return Long.parseLong(lastEventId.substring(lastEventId.lastIndexOf(':') + 1));
+    }
+
+    private SseEmitter.SseEventBuilder snapshotEvent(FeatureFlagSnapshot snapshot) {
+        List<FeatureFlagState> flags = new ArrayList<>(snapshot.size());
+        for (CompiledFlag flag : snapshot.flags().values()) {
+            flags.add(toState(flag));
+        }
+        FeatureFlagStreamSnapshot payload = FeatureFlagStreamSnapshot.builder()
+            .revision(snapshot.revision())
+            .flags(flags)
+            .build();
+        return SseEmitter.event()
+            .id(eventId(snapshot.revision()))
+            .name(SNAPSHOT_EVENT)
+            .data(toJson(payload), MediaType.APPLICATION_JSON);
+    }
+
+    private static SseEmitter.SseEventBuilder deltaEvent(SerializedDelta delta) {
+        return SseEmitter.event()
+            .id(delta.eventId())
+            .name(DELTA_EVENT)
+            .data(delta.json(), MediaType.APPLICATION_JSON);
+    }
+
+    private SerializedDelta serialize(FeatureFlagDelta delta) {
+        FeatureFlagStreamDelta payload = FeatureFlagStreamDelta.builder()
+            .revision(delta.revision())
+            .type(delta.type().name())
+            .featureKey(delta.featureKey())
+            .flag(delta.flag() == null ? null : toState(delta.flag()))
+            .build();
+        return new SerializedDelta(delta.revision(), eventId(delta.revision()), toJson(payload));
+    }
+
+    private FeatureFlagState toState(CompiledFlag flag) {
+        return FeatureFlagState.builder()
+            .featureKey(flag.featureKey())
+            .enabled(flag.enabled())
+            .targetRules(flag.targetRules())
+            .rolloutPercentage(flag.rolloutPercentage())
+            .workspaceId(flag.workspaceId())
+            .updatedAt(flag.updatedAt())
+            .build();
+    }
+
+    private String eventId(long revision) {
+        return snapshotHolder.getEpoch() + ":" + revision;
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize feature flag stream payload", e);
+        }
+    }
+
+    /** A delta serialized once and shared by every subscriber. */
+    private record SerializedDelta(long revision, String eventId, String json) {
+    }
+}
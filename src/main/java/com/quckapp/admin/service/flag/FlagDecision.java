@@ -0,0 +1,32 @@
+package com.quckapp.admin.service.flag;
+
+/**
+ * Outcome of evaluating a feature flag for a single caller.
+ *
+ * Decisions are constants so the hot path can return them without allocating.
+ */
+public enum FlagDecision {
+
+    NOT_FOUND(false, "Feature flag not found"),
+    DISABLED(false, "Feature is disabled"),
+    WORKSPACE_MISMATCH(false, "Feature not available for this workspace"),
+    NOT_TARGETED(false, "User does not match targeting rules"),
+    NOT_IN_ROLLOUT(false, "User not in rollout group"),
+    ENABLED(true, "Feature enabled");
+
+    private final boolean enabled;
+    private final String reason;
+
+    FlagDecision(boolean enabled, String reason) {
+        this.enabled = enabled;
+        this.reason = reason;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
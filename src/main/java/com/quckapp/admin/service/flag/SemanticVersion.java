@@ -0,0 +1,188 @@
+package com.quckapp.admin.service.flag;
+
+/**
+ * Minimal semantic version used as the constant side of semver targeting rules.
+ *
+ * {@link #compareTo(CharSequence)} compares against a caller-supplied version string in place,
+ * without splitting or boxing, so it can run on the flag evaluation hot path.
+ * Accepts an optional leading {@code v}, missing minor/patch (treated as 0), a pre-release
+ * suffix after {@code -} and ignores build metadata after {@code +}.
+ */
+public final class SemanticVersion {
+
+    /** Returned by {@link #compareTo(CharSequence)} when the other value is not a version. */
+    public static final int INVALID = Integer.MIN_VALUE;
+
+    private final String text;
+    private final long major;
+    private final long minor;
+    private final long patch;
+    private final int preReleaseStart;
+    private final int preReleaseEnd;
+
+    private SemanticVersion(String text, long major, long minor, long patch, int preReleaseStart, int preReleaseEnd) {
+        this.text = text;
+        this.major = major;
+        this.minor = minor;
+        this.patch = patch;
+        this.preReleaseStart = preReleaseStart;
+        this.preReleaseEnd = preReleaseEnd;
+    }
+
+    public static SemanticVersion parse(String text) {
+        Parsed parsed = new Parsed();
+        if (text == null || !scan(text, parsed)) {
+            throw new IllegalArgumentException("Invalid semantic version: " + text);
+        }
+        return new SemanticVersion(text, parsed.major, parsed.minor, parsed.patch, parsed.preStart, parsed.preEnd);
+    }
+
+    /**
+     * Compares {@code other} to this version: negative if {@code other} is lower, zero if equal,
+     * positive if higher, or {@link #INVALID} if {@code other} cannot be parsed.
+     */
+    public int compareTo(CharSequence other) {
+        int len = other.length();
+        int i = 0;
+        if (i < len && (other.charAt(i) == 'v' || other.charAt(i) == 'V')) i++;
+        if (i >= len) return INVALID;
+
+        long otherPart;
+        int component = 0;
+        int cmp = 0;
+        while (component < 3) {
+            if (i >= len || other.charAt(i) == '-' || other.charAt(i) == '+') {
+                otherPart = 0;
+            } else {
+                int start = i;
+                long value = 0;
+                while (i < len && Character.isDigit(other.charAt(i))) {
+                    value = value * 10 + (other.charAt(i) - '0');
+                    if (value < 0) return INVALID;
+                    i++;
+                }
+                if (i == start) return INVALID;
+                otherPart = value;
+                if (component < 2 && i < len && other.charAt(i) == '.') {
+                    i++;
+                    if (i >= len) return INVALID;
+                }
+            }
+            long mine = component == 0 ? major : component == 1 ? minor : patch;
+            if (cmp == 0 && otherPart != mine) {
+                cmp = otherPart < mine ? -1 : 1;
+            }
+            component++;
+        }
+
+        int otherPreStart = -1;
+        int otherPreEnd = -1;
+        if (i < len && other.charAt(i) == '-') {
+            otherPreStart = ++i;
+            while (i < len && other.charAt(i) != '+') i++;
+            otherPreEnd = i;
+            if (otherPreEnd == otherPreStart) return INVALID;
+        }
+        if (i < len && other.charAt(i) != '+') return INVALID;
+
+        if (cmp != 0) return cmp;
+        return comparePreRelease(other, otherPreStart, otherPreEnd);
+    }
+
+    private int comparePreRelease(CharSequence other, int otherStart, int otherEnd) {
+        boolean mineHas = preReleaseStart >= 0;
+        boolean otherHas = otherStart >= 0;
+        if (!mineHas && !otherHas) return 0;
+        if (!otherHas) return 1;   // release > pre-release
+        if (!mineHas) return -1;
+
+        int a = otherStart;
+        int b = preReleaseStart;
+        while (a < otherEnd && b < preReleaseEnd) {
+            int aEnd = a;
+            while (aEnd < otherEnd && other.charAt(aEnd) != '.') aEnd++;
+            int bEnd = b;
+            while (bEnd < preReleaseEnd && text.charAt(bEnd) != '.') bEnd++;
+
+            int cmp = compareIdentifier(other, a, aEnd, text, b, bEnd);
+            if (cmp != 0) return cmp;
+
+            a = aEnd + 1;
+            b = bEnd + 1;
+        }
+        boolean otherMore = a < otherEnd;
+        boolean mineMore = b < preReleaseEnd;
+        if (otherMore == mineMore) return 0;
+        return otherMore ? 1 : -1;
+    }
+
+    private static int compareIdentifier(CharSequence a, int aStart, int aEnd, CharSequence b, int bStart, int bEnd) {
+        boolean aNumeric = isNumeric(a, aStart, aEnd);
+        boolean bNumeric = isNumeric(b, bStart, bEnd);
+        if (aNumeric && bNumeric) {
+            int aLen = aEnd - aStart;
+            int bLen = bEnd - bStart;
+            if (aLen != bLen) return aLen < bLen ? -1 : 1;
+        } else if (aNumeric != bNumeric) {
+            return aNumeric ? -1 : 1; // numeric identifiers sort before alphanumeric ones
+        }
+        int n = Math.min(aEnd - aStart, bEnd - bStart);
+        for (int k = 0; k < n; k++) {
+            char ca = a.charAt(aStart + k);
+            char cb = b.charAt(bStart + k);
+            if (ca != cb) return ca < cb ? -1 : 1;
+        }
+        return Integer.compare(aEnd - aStart, bEnd - bStart);
+    }
+
+    private static boolean isNumeric(CharSequence s, int start, int end) {
+        if (start == end) return false;
+        for (int k = start; k < end; k++) {
+            if (!Character.isDigit(s.charAt(k))) return false;
+        }
+        return true;
+    }
+
+    private static boolean scan(String text, Parsed parsed) {
+        SemanticVersion zero = new SemanticVersion("", 0, 0, 0, -1, -1);
+        if (zero.compareTo(text) == INVALID) return false;
+
+        int len = text.length();
+        int i = (len > 0 && (text.charAt(0) == 'v' || text.charAt(0) == 'V')) ? 1 : 0;
+        long[] values = new long[3];
+        for (int component = 0; component < 3; component++) {
+            if (i >= len || text.charAt(i) == '-' || text.charAt(i) == '+') break;
+            long value = 0;
+            while (i < len && Character.isDigit(text.charAt(i))) {
+                value = value * 10 + (text.charAt(i) - '0');
+                i++;
+            }
+            values[component] = value;
+            if (i < len && text.charAt(i) == '.') i++;
+        }
+        parsed.major = values[0];
+        parsed.minor = values[1];
+        parsed.patch = values[2];
+        parsed.preStart = -1;
+        parsed.preEnd = -1;
+        if (i < len && text.charAt(i) == '-') {
+            parsed.preStart = ++i;
+            while (i < len && text.charAt(i) != '+') i++;
+            parsed.preEnd = i;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private static final class Parsed {
+        long major;
+        long minor;
+        long patch;
+        int preStart;
+        int preEnd;
+    }
+}
@@ -0,0 +1,17 @@
+package com.quckapp.admin.service.flag;
+
+import java.util.Map;
+
+/**
+ * Compiled predicate over caller attributes, built once per flag revision by {@link TargetingRuleCompiler}.
+ *
+ * Implementations are immutable and thread-safe; {@link #matches(Map)} must not allocate
+ * (regex rules are the one exception, since {@link java.util.regex.Matcher} is per call).
+ */
+@FunctionalInterface
+public interface TargetingRule {
+
+    TargetingRule MATCH_ALL = attributes -> true;
+
+    boolean matches(Map<String, Object> attributes);
+}
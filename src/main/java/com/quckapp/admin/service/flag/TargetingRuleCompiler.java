@@ -0,0 +1,264 @@
+package com.quckapp.admin.service.flag;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Parses and validates the {@code target_rules} JSON of a feature flag into a {@link TargetingRule} tree.
+ *
+ * Rule language (a single node at the top level):
+ * <pre>
+ * { "all": [ node, ... ] }                                    AND
+ * { "any": [ node, ... ] }                                    OR
+ * { "not": node }                                             NOT
+ * { "attribute": "plan", "op": "eq", "value": "pro" }         eq | neq
+ * { "attribute": "country", "op": "in", "values": ["US"] }    in | not_in
+ * { "attribute": "email", "op": "regex", "value": "@quckapp\\.io$" }
+ * { "attribute": "appVersion", "op": "semver_gte", "value": "2.4.0" }
+ *                                                             semver_eq | semver_gt | semver_gte | semver_lt | semver_lte
+ * </pre>
+ * Attributes are read from {@code FeatureCheckRequest.context}; a missing attribute never matches a comparison.
+ * An empty or absent rule set matches every caller.
+ */
+public final class TargetingRuleCompiler {
+
+    public static final int MAX_DEPTH = 16;
+    public static final int MAX_NODES = 256;
+
+    private TargetingRuleCompiler() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the rules are not valid; the message names the offending node
+     */
+    public static TargetingRule compile(Map<String, Object> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return TargetingRule.MATCH_ALL;
+        }
+        int[] nodes = {0};
+        return compileNode(rules, "$", 1, nodes);
+    }
+
+    private static TargetingRule compileNode(Object raw, String path, int depth, int[] nodes) {
+        if (depth > MAX_DEPTH) {
+            throw invalid(path, "nesting deeper than " + MAX_DEPTH);
+        }
+        if (++nodes[0] > MAX_NODES) {
+            throw invalid(path, "more than " + MAX_NODES + " nodes");
+        }
+        if (!(raw instanceof Map<?, ?> node)) {
+            throw invalid(path, "expected an object");
+        }
+
+        if (node.containsKey("all") || node.containsKey("any")) {
+            boolean all = node.containsKey("all");
+            String key = all ? "all" : "any";
+            if (node.size() != 1) {
+                throw invalid(path, "'" + key + "' must be the only property of its node");
+            }
+            if (!(node.get(key) instanceof List<?> children) || children.isEmpty()) {
+                throw invalid(path, "'" + key + "' must be a non-empty array");
+            }
+            TargetingRule[] compiled = new TargetingRule[children.size()];
+            for (int i = 0; i < compiled.length; i++) {
+                compiled[i] = compileNode(children.get(i), path + "." + key + "[" + i + "]", depth + 1, nodes);
+            }
+            return all ? new AllOf(compiled) : new AnyOf(compiled);
+        }
+
+        if (node.containsKey("not")) {
+            if (node.size() != 1) {
+                throw invalid(path, "'not' must be the only property of its node");
+            }
+            return new Not(compileNode(node.get("not"), path + ".not", depth + 1, nodes));
+        }
+
+        return compileComparison(node, path);
+    }
+
+    private static TargetingRule compileComparison(Map<?, ?> node, String path) {
+        if (!(node.get("attribute") instanceof String attribute) || attribute.isBlank()) {
+            throw invalid(path, "'attribute' must be a non-empty string");
+        }
+        if (!(node.get("op") instanceof String op)) {
+            throw invalid(path, "'op' must be a string");
+        }
+
+        return switch (op) {
+            case "eq", "neq" -> {
+                Object value = scalar(node.get("value"), path + ".value");
+                TargetingRule eq = new Equals(attribute, value);
+                yield "eq".equals(op) ? eq : new Not(new Present(attribute), eq);
+            }
+            case "in", "not_in" -> {
+                if (!(node.get("values") instanceof List<?> values) || values.isEmpty()) {
+                    throw invalid(path, "'values' must be a non-empty array");
+                }
+                TargetingRule in = In.of(attribute, values, path + ".values");
+                yield "in".equals(op) ? in : new Not(new Present(attribute), in);
+            }
+            case "regex" -> {
+                if (!(node.get("value") instanceof String regex)) {
+                    throw invalid(path, "'value' must be a regular expression string");
+                }
+                try {
+                    yield new Matches(attribute, Pattern.compile(regex));
+                } catch (PatternSyntaxException e) {
+                    throw invalid(path, "invalid regular expression: " + e.getDescription());
+                }
+            }
+            case "semver_eq", "semver_gt", "semver_gte", "semver_lt", "semver_lte" -> {
+                if (!(node.get("value") instanceof String version)) {
+                    throw invalid(path, "'value' must be a semantic version string");
+                }
+                SemanticVersion expected;
+                try {
+                    expected = SemanticVersion.parse(version);
+                } catch (IllegalArgumentException e) {
+                    throw invalid(path, e.getMessage());
+                }
+                yield new SemverCompare(attribute, expected, op.substring("semver_".length()));
+            }
+            default -> throw invalid(path, "unsupported op '" + op + "'");
+        };
+    }
+
+    private static Object scalar(Object value, String path) {
+        if (value instanceof String || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        throw invalid(path, "must be a string, number or boolean");
+    }
+
+    private static IllegalArgumentException invalid(String path, String reason) {
+        return new IllegalArgumentException("Invalid target rules at " + path + ": " + reason);
+    }
+
+    // ===== Rule nodes =====
+
+    private record AllOf(TargetingRule[] children) implements TargetingRule {
+        @Override
+        public boolean matches(Map<String, Object> attributes) {
+            for (TargetingRule child : children) {
+                if (!child.matches(attributes)) return false;
+            }
+            return true;
+        }
+    }
+
+    private record AnyOf(TargetingRule[] children) implements TargetingRule {
+        @Override
+        public boolean matches(Map<String, Object> attributes) {
+            for (TargetingRule child : children) {
+                if (child.matches(attributes)) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Negation. When a guard is given, the negation only applies if the guard matches,
+     * so {@code neq}/{@code not_in} on a missing attribute evaluate to false.
+     */
+    private record Not(TargetingRule guard, TargetingRule inner) implements TargetingRule {
+        Not(TargetingRule inner) {
+            this(null, inner);
+        }
+
+        @Override
+        public boolean matches(Map<String, Object> attributes) {
+            if (guard != null && !guard.matches(attributes)) return false;
+            return !inner.matches(attributes);
+        }
+    }
+
+    private record Present(String attribute) implements TargetingRule {
+        @Override
+        public boolean matches(Map<String, Object> attributes) {
+            return attributes != null && attributes.get(attribute) != null;
+        }
+    }
+
+    private record Equals(String attribute, Object expected) implements TargetingRule {
+        @Override
+        public boolean matches(Map<String, Object> attributes) {
+            if (attributes == null) return false;
+            Object actual = attributes.get(attribute);
+            if (actual == null) return false;
+            if (expected instanceof Double number) {
+                return actual instanceof Number n && n.doubleValue() == number;
+            }
+            return expected.equals(actual);
+        }
+    }
+
+    private record In(String attribute, Set<String> strings, double[] numbers, boolean acceptTrue, boolean acceptFalse)
+            implements TargetingRule {
+
+        static In of(String attribute, List<?> values, String path) {
+            Set<String> strings = new HashSet<>();
+            double[] numbers = new double[values.size()];
+            int numberCount = 0;
+            boolean acceptTrue = false;
+            boolean acceptFalse = false;
+            for (int i = 0; i < values.size(); i++) {
+                Object value = scalar(values.get(i), path + "[" + i + "]");
+                if (value instanceof String s) {
+                    strings.add(s);
+                } else if (value instanceof Double d) {
+                    numbers[numberCount++] = d;
+                } else if (Boolean.TRUE.equals(value)) {
+                    acceptTrue = true;
+                } else {
+                    acceptFalse = true;
+                }
+            }
+            double[] sorted = Arrays.copyOf(numbers, numberCount);
+            Arrays.sort(sorted);
+            return new In(attribute, Set.copyOf(strings), sorted, acceptTrue, acceptFalse);
+        }
+
+        @Override
+        public boolean matches(Map<String, Object> attributes) {
+            if (attributes == null) return false;
+            Object actual = attributes.get(attribute);
+            if (actual instanceof String s) return strings.contains(s);
+            if (actual instanceof Number n) return Arrays.binarySearch(numbers, n.doubleValue()) >= 0;
+            if (actual instanceof Boolean b) return b ? acceptTrue : acceptFalse;
+            return false;
+        }
+    }
+
+    private record Matches(String attribute, Pattern pattern) implements TargetingRule {
+        @Override
+        public boolean matches(Map<String, Object> attributes) {
+            if (attributes == null) return false;
+            return attributes.get(attribute) instanceof CharSequence s && pattern.matcher(s).find();
+        }
+    }
+
+    private record SemverCompare(String attribute, SemanticVersion expected, String comparison) implements TargetingRule {
+        @Override
+        public boolean matches(Map<String, Object> attributes) {
+            if (attributes == null) return false;
+            if (!(attributes.get(attribute) instanceof CharSequence actual)) return false;
+            int cmp = expected.compareTo(actual);
+            if (cmp == SemanticVersion.INVALID) return false;
+            return switch (comparison) {
+                case "eq" -> cmp == 0;
+                case "gt" -> cmp > 0;
+                case "gte" -> cmp >= 0;
+                case "lt" -> cmp < 0;
+                default -> cmp <= 0;
+            };
+        }
+    }
+}
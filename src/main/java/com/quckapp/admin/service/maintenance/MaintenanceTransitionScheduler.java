@@ -0,0 +1,165 @@
+package com.quckapp.admin.service.maintenance;
+
+import com.quckapp.admin.domain.entity.MaintenanceWindow;
+import com.quckapp.admin.domain.entity.MaintenanceWindow.MaintenanceStatus;
+import com.quckapp.admin.domain.repository.MaintenanceWindowRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Starts and completes maintenance windows at their start and end times.
+ *
+ * Every SCHEDULED or IN_PROGRESS window has one timer on a delay-queue executor, armed for its
+ * next transition and re-armed whenever the window changes. Transitions are one conditional
+ * {@code UPDATE ... WHERE status = ?}, so when several replicas fire the same timer exactly one
+ * changes the row. A periodic sweep applies any transitions that are overdue, for example after
+ * downtime, and arms windows created on other replicas.
+ */
+@Component
+@Slf4j
+public class MaintenanceTransitionScheduler {
+
+    /** The transition a window's timer will fire: out of {@code status}, at its start or end time. */
+    private record Armed(MaintenanceStatus status, Instant startTime, Instant endTime, ScheduledFuture<?> timer) {}
+
+    private final MaintenanceWindowRepository maintenanceRepository;
+    private final ScheduledThreadPoolExecutor timers;
+    private final Map<UUID, Armed> armed = new ConcurrentHashMap<>();
+
+    public MaintenanceTransitionScheduler(MaintenanceWindowRepository maintenanceRepository) {
+        this.maintenanceRepository = maintenanceRepository;
+        this.timers = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "maintenance-transitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timers.setRemoveOnCancelPolicy(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        sweep();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timers.shutdownNow();
+    }
+
+    /**
+     * Applies overdue transitions in two set-based statements, then arms a timer for every
+     * remaining active window and drops timers of windows that are no longer active.
+     */
+    @Scheduled(fixedDelayString = "${maintenance.sweep-interval-ms:60000}",
+               initialDelayString = "${maintenance.sweep-interval-ms:60000}")
+    public void sweep() {
+        try {
+            Instant now = Instant.now();
+            int started = maintenanceRepository.startDue(now);
+            int completed = maintenanceRepository.completeDue(now);
+            if (started > 0 || completed > 0) {
+                log.info("Maintenance sweep started {} and completed {} overdue windows", started, completed);
+            }
+
+            List<MaintenanceWindow> active = maintenanceRepository.findActiveAndScheduled();
+            active.forEach(this::arm);
+            Set<UUID> activeIds = active.stream().map(MaintenanceWindow::getId).collect(Collectors.toSet());
+            armed.keySet().stream().filter(id -> !activeIds.contains(id)).toList().forEach(this::disarm);
+        } catch (RuntimeException e) {
+            log.warn("Maintenance sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Arms the window's next transition once the current transaction commits, so a timer never
+     * fires before the row it updates is visible. Windows that are no longer active are disarmed.
+     */
+    public void armAfterCommit(MaintenanceWindow window) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            arm(window);
+            return;
+        }
+        UUID id = window.getId();
+        MaintenanceStatus status = window.getStatus();
+        Instant startTime = window.getStartTime();
+        Instant endTime = window.getEndTime();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                arm(id, status, startTime, endTime);
+            }
+        });
+    }
+
+    public void arm(MaintenanceWindow window) {
+        arm(window.getId(), window.getStatus(), window.getStartTime(), window.getEndTime());
+    }
+
+    int armedCount() {
+        return armed.size();
+    }
+
+    // ===== Timers =====
+
+    private void arm(UUID id, MaintenanceStatus status, Instant startTime, Instant endTime) {
+        if (status != MaintenanceStatus.SCHEDULED && status != MaintenanceStatus.IN_PROGRESS) {
+            disarm(id);
+            return;
+        }
+        armed.compute(id, (key, current) -> {
+            if (current != null && current.status() == status
+                    && current.startTime().equals(startTime) && current.endTime().equals(endTime)) {
+                return current;
+            }
+            if (current != null) {
+                current.timer().cancel(false);
+            }
+            Instant at = status == MaintenanceStatus.SCHEDULED ? startTime : endTime;
+            long delayMillis = Math.max(0, Duration.between(Instant.now(), at).toMillis());
+            ScheduledFuture<?> timer = timers.schedule(() -> fire(id, status, startTime, endTime), delayMillis, TimeUnit.MILLISECONDS);
+            return new Armed(status, startTime, endTime, timer);
+        });
+    }
+
+    private void disarm(UUID id) {
+        Armed current = armed.remove(id);
+        if (current != null) {
+            current.timer().cancel(false);
+        }
+    }
+
+    private void fire(UUID id, MaintenanceStatus from, Instant startTime, Instant endTime) {
+        armed.computeIfPresent(id, (key, current) -> current.status() == from ? null : current);
+        try {
+            if (from == MaintenanceStatus.SCHEDULED) {
+                if (maintenanceRepository.transitionStatus(id, MaintenanceStatus.SCHEDULED, MaintenanceStatus.IN_PROGRESS) == 1) {
+                    log.info("Started maintenance window: {}", id);
+                }
+                // Armed even when another replica won the start; completing a cancelled window updates nothing
+                arm(id, MaintenanceStatus.IN_PROGRESS, startTime, endTime);
+            } else if (maintenanceRepository.transitionStatus(id, MaintenanceStatus.IN_PROGRESS, MaintenanceStatus.COMPLETED) == 1) {
+                log.info("Completed maintenance window: {}", id);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Maintenance transition of {} failed, leaving it to the sweep: {}", id, e.getMessage());
+        }
+    }
+}
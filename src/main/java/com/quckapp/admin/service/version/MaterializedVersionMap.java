@@ -0,0 +1,30 @@
+package com.quckapp.admin.service.version;
+
+import com.quckapp.admin.dto.VersionDtos.PublicVersionMapResponse;
+
+/**
+ * A public version map ready to be written to clients: the {@code ApiResponse} body as JSON and gzip,
+ * with a strong ETag for each encoding. The ETags are derived from the map content only, so every
+ * replica hands out the same tag for the same map.
+ */
+public record MaterializedVersionMap(
+    PublicVersionMapResponse map,
+    byte[] json,
+    byte[] gzipped,
+    String etag,
+    String gzipEtag
+) {
+
+    /**
+     * Whether an {@code If-None-Match} header names this map in either encoding.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,246 @@
+package com.quckapp.admin.service.version;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quckapp.admin.cache.CacheInvalidation;
+import com.quckapp.admin.cache.CacheInvalidationBus;
+import com.quckapp.admin.cache.RemoteCacheInvalidationEvent;
+import com.quckapp.admin.dto.AdminDtos.ApiResponse;
+import com.quckapp.admin.dto.VersionDtos.PublicVersionMapResponse;
+import com.quckapp.admin.service.ServiceUrlManagementService;
+import com.quckapp.admin.service.VersionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the public version map of each environment materialized as ready-to-send bytes.
+ *
+ * A map is rebuilt only after a transaction that changed it commits, once per environment however
+ * many rows the transaction touched, and when another replica announces a change over the cache
+ * invalidation bus. Reads never touch the database once an environment is materialized.
+ * Environments without any versions are only kept if they are one of the known environments,
+ * so arbitrary names sent to the public endpoint cannot grow the map. Their empty maps go to a
+ * small bounded cache instead, which changes to that environment clear, so repeated requests for
+ * an unknown name do not reach the database either.
+ *
+ * Rebuilds of one environment take that environment's lock, so they apply in order, but the
+ * database read and serialization run outside the map's own locks. A first load only keeps what
+ * it read if no rebuild started while it was reading; otherwise it is served once and dropped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PublicVersionMapHolder {
+
+    /** Name used for this map's messages on the invalidation bus. */
+    public static final String CACHE_NAME = "publicVersionMap";
+
+    private static final Object PENDING_REBUILDS_KEY = new Object();
+
+    /** Bounds for empty maps of unknown environments; the TTL covers a lost invalidation message. */
+    private static final int UNRETAINED_MAX_SIZE = 1000;
+    private static final Duration UNRETAINED_TTL = Duration.ofMinutes(5);
+
+    /** Locks serializing rebuilds; an environment always maps to the same one. */
+    private static final int REBUILD_LOCKS = 16;
+
+    private final VersionService versionService;
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationBus invalidationBus;
+
+    private final ConcurrentMap<String, MaterializedVersionMap> maps = new ConcurrentHashMap<>();
+    private final Cache<String, MaterializedVersionMap> unretained = Caffeine.newBuilder()
+        .maximumSize(UNRETAINED_MAX_SIZE)
+        .expireAfterWrite(UNRETAINED_TTL)
+        .build();
+    private final Object[] rebuildLocks = Stream.generate(Object::new).limit(REBUILD_LOCKS).toArray();
+    /** Bumped before every rebuild reads, so a first load can tell it may hold an older state. */
+    private final AtomicLong rebuilds = new AtomicLong();
+
+    public MaterializedVersionMap get(String environment) {
+        MaterializedVersionMap current = maps.get(environment);
+        if (current != null) {
+            return current;
+        }
+        MaterializedVersionMap empty = unretained.getIfPresent(environment);
+        if (empty != null) {
+            return empty;
+        }
+        long seen = rebuilds.get();
+        MaterializedVersionMap built = materialize(versionService.getPublicVersionMap(environment), null);
+        // Each store is re-checked after it lands: a rebuild either bumped the count before the
+        // check, or starts after the store and replaces it
+        if (!isRetained(environment, built)) {
+            unretained.put(environment, built);
+            if (rebuilds.get() != seen) {
+                unretained.asMap().remove(environment, built);
+            }
+            return built;
+        }
+        // A rebuild that raced with this first load wins, since it read a newer state
+        MaterializedVersionMap raced = maps.putIfAbsent(environment, built);
+        if (raced != null) {
+            return raced;
+        }
+        if (rebuilds.get() != seen) {
+            maps.remove(environment, built);
+        }
+        return built;
+    }
+
+    /**
+     * Environments currently materialized.
+     */
+    public Set<String> environments() {
+        return Set.copyOf(maps.keySet());
+    }
+
+    // ===== Change Handling =====
+
+    /**
+     * Runs inside the writing transaction: tells other replicas once it commits, and schedules
+     * one local rebuild per environment for after the commit.
+     */
+    @EventListener
+    public void onVersionMapChanged(VersionMapChangedEvent event) {
+        invalidationBus.publish(new CacheInvalidation(CACHE_NAME, event.environment()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingRebuilds().add(event.environment());
+        } else {
+            rebuild(event.environment());
+        }
+    }
+
+    @EventListener
+    public void onRemoteInvalidation(RemoteCacheInvalidationEvent event) {
+        if (!event.affects(CACHE_NAME)) {
+            return;
+        }
+        if (event.flushAll()) {
+            rebuildAll();
+            return;
+        }
+        for (CacheInvalidation invalidation : event.invalidations()) {
+            if (!CACHE_NAME.equals(invalidation.cacheName())) continue;
+            if (invalidation.isAllEntries()) {
+                rebuildAll();
+                return;
+            }
+            rebuild(invalidation.key());
+        }
+    }
+
+    private Set<String> pendingRebuilds() {
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(PENDING_REBUILDS_KEY);
+        if (pending == null) {
+            Set<String> created = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(PENDING_REBUILDS_KEY, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    created.forEach(PublicVersionMapHolder.this::rebuild);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_REBUILDS_KEY);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void rebuildAll() {
+        rebuilds.incrementAndGet();
+        unretained.invalidateAll();
+        List.copyOf(maps.keySet()).forEach(this::rebuild);
+    }
+
+    /**
+     * Reloads one environment. Rebuilds of the same environment are serialized so an older
+     * read can never replace a newer one; a failed rebuild keeps serving the previous map.
+     */
+    void rebuild(String environment) {
+        synchronized (rebuildLock(environment)) {
+            rebuilds.incrementAndGet();
+            unretained.invalidate(environment);
+            try {
+                MaterializedVersionMap previous = maps.get(environment);
+                MaterializedVersionMap built = materialize(versionService.getPublicVersionMap(environment), previous);
+                if (previous != null || isRetained(environment, built)) {
+                    maps.put(environment, built);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to rebuild public version map for {}, serving previous map: {}", environment, e.getMessage());
+            }
+        }
+    }
+
+    private Object rebuildLock(String environment) {
+        return rebuildLocks[(environment.hashCode() & 0x7fffffff) % REBUILD_LOCKS];
+    }
+
+    // ===== Materialization =====
+
+    private MaterializedVersionMap materialize(PublicVersionMapResponse map, MaterializedVersionMap previous) {
+        try {
+            String etag = "\"" + contentHash(objectMapper.writeValueAsBytes(map)) + "\"";
+            if (previous != null && previous.etag().equals(etag)) {
+                // Unchanged content keeps its bytes, so the body stays identical for its ETag
+                return previous;
+            }
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(map));
+            String gzipEtag = etag.substring(0, etag.length() - 1) + "-gzip\"";
+            return new MaterializedVersionMap(map, json, gzip(json), etag, gzipEtag);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize public version map for " + map.environment(), e);
+        }
+    }
+
+    private static boolean isRetained(String environment, MaterializedVersionMap built) {
+        return !built.map().services().isEmpty() || ServiceUrlManagementService.VALID_ENVIRONMENTS.contains(environment);
+    }
+
+    private static String contentHash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,8 @@
+package com.quckapp.admin.service.version;
+
+/**
+ * Published by {@link com.quckapp.admin.service.VersionService} whenever a write may change
+ * the public version map of {@code environment}.
+ */
+public record VersionMapChangedEvent(String environment) {
+}
@@ -0,0 +1,76 @@
+package com.quckapp.admin.benchmark;
+
+import com.quckapp.admin.cache.CompactCacheSerializer;
+import com.quckapp.admin.dto.ServiceUrlDtos.ServiceUrlResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Encode/decode cost of a per-environment {@code serviceUrls} list with the typed JSON format
+ * the cache used before and with {@link CompactCacheSerializer}. The encoded size ratio is
+ * asserted by {@code CompactCacheSerializerTest} rather than measured here. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="CacheSerializerBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"10", "60"})
+    int services;
+
+    private final RedisSerializer<Object> json = CompactCacheSerializer.jsonSerializer();
+    private final CompactCacheSerializer compact =
+        new CompactCacheSerializer(List.of(ServiceUrlResponse.class), true, 512);
+
+    private List<ServiceUrlResponse> value;
+    private byte[] jsonBytes;
+    private byte[] compactBytes;
+
+    @Setup
+    public void setUp() {
+        value = IntStream.range(0, services).mapToObj(i -> ServiceUrlResponse.builder()
+            .id(UUID.randomUUID())
+            .environment("staging")
+            .serviceKey("service-" + i)
+            .category(i % 3 == 0 ? "CORE" : "EDGE")
+            .url("https://service-" + i + ".staging.quckapp.io/api")
+            .description("Service " + i + " in staging")
+            .isActive(true)
+            .updatedBy(UUID.randomUUID())
+            .createdAt(Instant.parse("2026-01-01T00:00:00Z"))
+            .updatedAt(Instant.now())
+            .build()).toList();
+        jsonBytes = json.serialize(value);
+        compactBytes = compact.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return json.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] encodeCompact() {
+        return compact.serialize(value);
+    }
+
+    @Benchmark
+    public Object decodeJson() {
+        return json.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public Object decodeCompact() {
+        return compact.deserialize(compactBytes);
+    }
+}
@@ -0,0 +1,70 @@
+package com.quckapp.admin.benchmark;
+
+import com.quckapp.admin.service.flag.TargetingRule;
+import com.quckapp.admin.service.flag.TargetingRuleCompiler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of evaluating a compiled targeting rule tree per nesting depth.
+ *
+ * Each level alternates all/any and carries an eq, an in and a semver leaf, with the matching
+ * branch placed last so every level is fully walked. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="TargetingRuleBenchmark -prof gc"}
+ * to also confirm the evaluation allocates nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetingRuleBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    int depth;
+
+    private TargetingRule rule;
+    private Map<String, Object> matching;
+    private Map<String, Object> nonMatching;
+
+    @Setup
+    public void setUp() {
+        rule = TargetingRuleCompiler.compile(nested(depth));
+
+        matching = new HashMap<>();
+        matching.put("plan", "enterprise");
+        matching.put("country", "CA");
+        matching.put("appVersion", "2.7.1");
+
+        nonMatching = new HashMap<>(matching);
+        nonMatching.put("appVersion", "2.1.0");
+    }
+
+    @Benchmark
+    public boolean evaluateMatching() {
+        return rule.matches(matching);
+    }
+
+    @Benchmark
+    public boolean evaluateNonMatching() {
+        return rule.matches(nonMatching);
+    }
+
+    private static Map<String, Object> nested(int depth) {
+        Map<String, Object> leaf = Map.of("attribute", "appVersion", "op", "semver_gte", "value", "2.4.0");
+        Map<String, Object> node = leaf;
+        for (int level = 1; level < depth; level++) {
+            String combinator = level % 2 == 0 ? "any" : "all";
+            List<Object> children = combinator.equals("any")
+                ? List.of(Map.of("attribute", "plan", "op", "eq", "value", "free"), node)
+                : List.of(Map.of("attribute", "country", "op", "in", "values", List.of("US", "CA", "GB")), node);
+            node = Map.of(combinator, children);
+        }
+        return node;
+    }
+}
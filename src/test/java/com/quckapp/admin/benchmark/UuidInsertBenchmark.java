@@ -0,0 +1,98 @@
+package com.quckapp.admin.benchmark;
+
+import com.quckapp.admin.domain.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batched insert cost into a {@code version_configs}-shaped table that already holds a large number of
+ * rows, with random version 4 ids and with time-ordered {@link UuidV7Generator} ids as the
+ * {@code BINARY(16)} primary key. Runs against in-memory H2 in MySQL mode, whose B-tree shows the same
+ * random-insert page splitting as InnoDB's clustered index, only at a smaller scale. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="UuidInsertBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    public enum IdType { V4, V7 }
+
+    @Param({"V4", "V7"})
+    IdType idType;
+
+    @Param({"500000"})
+    int existingRows;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:uuid-bench-" + idType + ";MODE=MySQL", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                CREATE TABLE version_configs (
+                    id BINARY(16) PRIMARY KEY,
+                    environment VARCHAR(20) NOT NULL,
+                    service_key VARCHAR(50) NOT NULL,
+                    api_version VARCHAR(20) NOT NULL,
+                    status VARCHAR(20) NOT NULL,
+                    changelog TEXT,
+                    created_at TIMESTAMP NOT NULL,
+                    updated_at TIMESTAMP NOT NULL,
+                    CONSTRAINT uk_env_service_version UNIQUE (environment, service_key, api_version)
+                )""");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("""
+            INSERT INTO version_configs (id, environment, service_key, api_version, status, changelog, created_at, updated_at)
+            VALUES (?, ?, ?, ?, 'PLANNED', ?, ?, ?)""");
+        while (sequence < existingRows) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int insertBatch() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long n = sequence++;
+            insert.setBytes(1, toBytes(idType == IdType.V7 ? UuidV7Generator.next() : UUID.randomUUID()));
+            insert.setString(2, "env-" + (n % 8));
+            insert.setString(3, "service-" + (n / 8 % 10_000));
+            insert.setString(4, "v" + (n / 80_000));
+            insert.setString(5, "Planned by benchmark");
+            insert.setTimestamp(6, now);
+            insert.setTimestamp(7, now);
+            insert.addBatch();
+        }
+        int rows = insert.executeBatch().length;
+        connection.commit();
+        return rows;
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
@@ -0,0 +1,113 @@
+package com.quckapp.admin.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties.Invalidation settings = new CacheProperties.Invalidation();
+        settings.setBatchWindow(Duration.ofMillis(1));
+        bus = new CacheInvalidationBus(redisTemplate, objectMapper, eventPublisher, settings);
+    }
+
+    private void receive(String node, long seq, CacheInvalidation... invalidations) throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(new CacheInvalidationMessage(node, seq, List.of(invalidations)));
+        bus.onMessage(new DefaultMessage(bus.getChannel().getBytes(), body), null);
+    }
+
+    // ===== Publishing Tests =====
+
+    @Nested
+    class Publishing {
+
+        @Test
+        void coalescesQueuedInvalidationsIntoOneMessage() throws Exception {
+            bus.publish(new CacheInvalidation("serviceUrls", "dev"));
+            bus.publish(new CacheInvalidation("serviceUrls", "dev"));
+            bus.publish(new CacheInvalidation("infrastructure", "dev"));
+            bus.publish(CacheInvalidation.allEntries("infrastructure"));
+
+            ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+            verify(redisTemplate, timeout(1000)).convertAndSend(eq(bus.getChannel()), payload.capture());
+
+            CacheInvalidationMessage sent = objectMapper.readValue(payload.getValue(), CacheInvalidationMessage.class);
+            assertEquals(bus.getNodeId(), sent.node());
+            assertEquals(1, sent.seq());
+            assertEquals(List.of(new CacheInvalidation("serviceUrls", "dev"), CacheInvalidation.allEntries("infrastructure")),
+                sent.invalidations());
+        }
+    }
+
+    // ===== Receiving Tests =====
+
+    @Nested
+    class Receiving {
+
+        @Test
+        void consecutiveMessages_areAppliedAsSent() throws Exception {
+            receive("node-a", 1, new CacheInvalidation("systemSettings", "k1"));
+            receive("node-a", 2, new CacheInvalidation("systemSettings", "k2"));
+
+            ArgumentCaptor<RemoteCacheInvalidationEvent> events = ArgumentCaptor.forClass(RemoteCacheInvalidationEvent.class);
+            verify(eventPublisher, times(2)).publishEvent(events.capture());
+            assertFalse(events.getAllValues().get(1).flushAll());
+            assertEquals("k2", events.getAllValues().get(1).invalidations().get(0).key());
+        }
+
+        @Test
+        void sequenceGap_flushesLocalTiers() throws Exception {
+            receive("node-a", 1, new CacheInvalidation("featureFlags", "checkout"));
+            receive("node-a", 3, new CacheInvalidation("featureFlags", "search"));
+
+            verify(eventPublisher).publishEvent(RemoteCacheInvalidationEvent.flushAllEvent());
+        }
+
+        @Test
+        void heartbeatAheadOfLastMessage_flushesLocalTiers() throws Exception {
+            receive("node-a", 4, new CacheInvalidation("featureFlags", "checkout"));
+            receive("node-a", 4);
+            verify(eventPublisher, never()).publishEvent(RemoteCacheInvalidationEvent.flushAllEvent());
+
+            receive("node-a", 5);
+            verify(eventPublisher).publishEvent(RemoteCacheInvalidationEvent.flushAllEvent());
+        }
+
+        @Test
+        void ownMessages_areIgnored() throws Exception {
+            receive(bus.getNodeId(), 7, new CacheInvalidation("featureFlags", "checkout"));
+
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+            verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+        }
+    }
+}
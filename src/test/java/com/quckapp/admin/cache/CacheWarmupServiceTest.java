@@ -0,0 +1,149 @@
+package com.quckapp.admin.cache;
+
+import com.quckapp.admin.dto.AdminDtos.FeatureFlagResponse;
+import com.quckapp.admin.service.FeatureFlagService;
+import com.quckapp.admin.service.ServiceUrlManagementService;
+import com.quckapp.admin.service.SystemSettingsService;
+import com.quckapp.admin.service.VersionService;
+import com.quckapp.admin.service.version.PublicVersionMapHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupServiceTest {
+
+    @Mock
+    private FeatureFlagService featureFlagService;
+
+    @Mock
+    private SystemSettingsService settingsService;
+
+    @Mock
+    private ServiceUrlManagementService serviceUrlService;
+
+    @Mock
+    private VersionService versionService;
+
+    @Mock
+    private PublicVersionMapHolder versionMapHolder;
+
+    private final CacheProperties properties = new CacheProperties();
+    private CacheWarmupService warmup;
+
+    @BeforeEach
+    void setUp() {
+        properties.getWarmup().setThreads(2);
+        properties.getWarmup().setTimeout(Duration.ofSeconds(5));
+    }
+
+    private CacheWarmupService warmup() {
+        return new CacheWarmupService(featureFlagService, settingsService, serviceUrlService, versionService,
+            versionMapHolder, properties, new SimpleMeterRegistry());
+    }
+
+    private static FeatureFlagResponse flag(String key) {
+        return FeatureFlagResponse.builder().featureKey(key).enabled(true).build();
+    }
+
+    // ===== Readiness Tests =====
+
+    @Nested
+    class Readiness {
+
+        @Test
+        void outOfServiceUntilWarmUpCompletes() throws Exception {
+            CountDownLatch listing = new CountDownLatch(1);
+            when(featureFlagService.getAllFlags()).thenAnswer(invocation -> {
+                listing.await();
+                return List.of(flag("checkout"));
+            });
+            warmup = warmup();
+            assertEquals(Status.OUT_OF_SERVICE, warmup.health().getStatus());
+
+            warmup.onApplicationReady();
+            long deadline = System.currentTimeMillis() + 2000;
+            while (warmup.getState() != CacheWarmupService.State.RUNNING) {
+                assertTrue(System.currentTimeMillis() < deadline);
+                Thread.sleep(5);
+            }
+            assertEquals(Status.OUT_OF_SERVICE, warmup.health().getStatus());
+
+            listing.countDown();
+            while (warmup.getState() == CacheWarmupService.State.RUNNING) {
+                assertTrue(System.currentTimeMillis() < deadline);
+                Thread.sleep(5);
+            }
+            Health health = warmup.health();
+            assertEquals(CacheWarmupService.State.COMPLETED, warmup.getState());
+            assertEquals(Status.UP, health.getStatus());
+            assertEquals(1L, health.getDetails().get("featureFlags"));
+            verify(featureFlagService).getFlagByKey("checkout");
+        }
+
+        @Test
+        void reportsUpOnceTheTimeoutPasses() {
+            CountDownLatch never = new CountDownLatch(1);
+            when(featureFlagService.getAllFlags()).thenAnswer(invocation -> {
+                never.await();
+                return List.of();
+            });
+            properties.getWarmup().setTimeout(Duration.ofMillis(200));
+            warmup = warmup();
+
+            long start = System.nanoTime();
+            warmup.warmUp();
+
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 200);
+            assertEquals(CacheWarmupService.State.TIMED_OUT, warmup.getState());
+            assertEquals(Status.UP, warmup.health().getStatus());
+        }
+
+        @Test
+        void disabledWarmUp_isUpImmediately() {
+            properties.getWarmup().setEnabled(false);
+            warmup = warmup();
+
+            warmup.onApplicationReady();
+
+            assertEquals(CacheWarmupService.State.DISABLED, warmup.getState());
+            assertEquals(Status.UP, warmup.health().getStatus());
+            verifyNoInteractions(featureFlagService);
+        }
+    }
+
+    // ===== Failure Tests =====
+
+    @Nested
+    class Failures {
+
+        @Test
+        void listingFailure_isCountedAndDoesNotBlockReadiness() {
+            when(featureFlagService.getAllFlags()).thenReturn(List.of(flag("checkout"), flag("search")));
+            when(settingsService.getAllSettings()).thenThrow(new IllegalStateException("settings table unavailable"));
+            warmup = warmup();
+
+            warmup.warmUp();
+
+            Health health = warmup.health();
+            assertEquals(CacheWarmupService.State.COMPLETED, warmup.getState());
+            assertEquals(Status.UP, health.getStatus());
+            assertEquals(1, health.getDetails().get("failures"));
+            assertEquals(2L, health.getDetails().get("featureFlags"));
+            assertEquals(0L, health.getDetails().get("systemSettings"));
+        }
+    }
+}
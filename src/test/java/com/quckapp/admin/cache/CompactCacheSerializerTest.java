@@ -0,0 +1,111 @@
+package com.quckapp.admin.cache;
+
+import com.quckapp.admin.dto.AdminDtos.FeatureFlagResponse;
+import com.quckapp.admin.dto.ServiceUrlDtos.ServiceUrlResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactCacheSerializerTest {
+
+    private final CompactCacheSerializer serializer =
+        new CompactCacheSerializer(List.of(FeatureFlagResponse.class, ServiceUrlResponse.class), true, 512);
+
+    private static ServiceUrlResponse serviceUrl(int i) {
+        return ServiceUrlResponse.builder()
+            .id(UUID.randomUUID())
+            .environment("staging")
+            .serviceKey("service-" + i)
+            .category("CORE")
+            .url("https://service-" + i + ".staging.quckapp.io")
+            .isActive(true)
+            .createdAt(Instant.parse("2026-01-01T00:00:00Z"))
+            .updatedAt(Instant.now())
+            .build();
+    }
+
+    @Test
+    void registeredValue_roundTripsWithHeader() {
+        FeatureFlagResponse flag = FeatureFlagResponse.builder()
+            .featureKey("checkout")
+            .enabled(true)
+            .targetRules(Map.of("attribute", "plan", "op", "eq", "value", "pro"))
+            .rolloutPercentage(25)
+            .updatedAt(Instant.now())
+            .build();
+
+        byte[] bytes = serializer.serialize(flag);
+
+        assertEquals(CompactCacheSerializer.MAGIC, bytes[0]);
+        assertEquals(flag, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void largeList_isCompressedAndRoundTrips() {
+        List<ServiceUrlResponse> urls = IntStream.range(0, 50).mapToObj(CompactCacheSerializerTest::serviceUrl).toList();
+
+        byte[] compact = serializer.serialize(urls);
+        byte[] json = CompactCacheSerializer.jsonSerializer().serialize(urls);
+
+        assertEquals(0x01, flags(compact) & 0x01);
+        assertTrue(compact.length < json.length / 2);
+        assertEquals(urls, serializer.deserialize(compact));
+        assertEquals(List.of(), serializer.deserialize(serializer.serialize(List.of())));
+    }
+
+    @Test
+    void legacyJsonEntries_remainReadable() {
+        Map<String, Object> value = new HashMap<>(Map.of("key", "value"));
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(value);
+
+        assertEquals(value, serializer.deserialize(json));
+        assertEquals(value, serializer.deserialize(serializer.serialize(value)));
+    }
+
+    @Test
+    void envelope_keepsWriteTime() {
+        CacheEnvelope registered = new CacheEnvelope(List.of(serviceUrl(1), serviceUrl(2)), 1_700_000_000_000L);
+        CacheEnvelope unregistered = new CacheEnvelope(new HashMap<>(Map.of("key", "value")), 1_700_000_000_000L);
+
+        assertEquals(registered, serializer.deserialize(serializer.serialize(registered)));
+        assertEquals(unregistered, serializer.deserialize(serializer.serialize(unregistered)));
+    }
+
+    @Test
+    void jsonMode_writesPlainJsonAndKeepsEnvelopeWriteTime() {
+        CompactCacheSerializer jsonMode =
+            new CompactCacheSerializer(List.of(FeatureFlagResponse.class, ServiceUrlResponse.class), false, 512);
+        List<ServiceUrlResponse> urls = IntStream.range(0, 50).mapToObj(CompactCacheSerializerTest::serviceUrl).toList();
+        CacheEnvelope envelope = new CacheEnvelope(urls, 1_700_000_000_000L);
+
+        byte[] bare = jsonMode.serialize(urls);
+        byte[] enveloped = jsonMode.serialize(envelope);
+
+        assertArrayEquals(CompactCacheSerializer.jsonSerializer().serialize(urls), bare);
+        assertEquals(urls, jsonMode.deserialize(bare));
+        assertEquals(CompactCacheSerializer.MAGIC, enveloped[0]);
+        assertEquals(0x04 | 0x08, flags(enveloped));
+        assertEquals(envelope, jsonMode.deserialize(enveloped));
+        assertEquals(envelope, serializer.deserialize(enveloped));
+    }
+
+    @Test
+    void newerFormatVersion_isTreatedAsMiss() {
+        byte[] bytes = serializer.serialize(serviceUrl(1));
+        bytes[1] = CompactCacheSerializer.FORMAT_VERSION + 1;
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    private static int flags(byte[] bytes) {
+        return bytes[2];
+    }
+}
@@ -0,0 +1,238 @@
+package com.quckapp.admin.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheTest {
+
+    private final ConcurrentMapCache remote = new ConcurrentMapCache("serviceUrls", false);
+
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+
+    private TwoTierCache cache(Duration loadWaitTimeout) {
+        CacheProperties.Spec spec = new CacheProperties.Spec(
+            Duration.ofMinutes(30), Duration.ofSeconds(30), 100L, Duration.ofMinutes(5), Duration.ofMinutes(30));
+        return new TwoTierCache("serviceUrls", Caffeine.newBuilder().maximumSize(100).build(), remote, null,
+            spec, loadWaitTimeout, refreshExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void storeWrittenAgo(String key, Object value, Duration age) {
+        remote.put(key, new CacheEnvelope(value, System.currentTimeMillis() - age.toMillis()));
+    }
+
+    private Object remoteValue(String key) {
+        Cache.ValueWrapper wrapper = remote.get(key);
+        return wrapper == null ? null : ((CacheEnvelope) wrapper.get()).value();
+    }
+
+    @Test
+    void concurrentMisses_runTheLoaderOnce() throws Exception {
+        TwoTierCache cache = cache(Duration.ofSeconds(5));
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> cache.get("staging", () -> {
+                    loaderCalls.incrementAndGet();
+                    release.await();
+                    return "urls";
+                })));
+            }
+            while (cache.getLoadCount() + cache.getCoalescedLoadCount() < 8) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("urls", result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loaderCalls.get());
+        assertEquals(7, cache.getCoalescedLoadCount());
+        assertEquals("urls", remoteValue("staging"));
+    }
+
+    @Test
+    void loaderFailure_isPropagatedToWaitingCallers() throws Exception {
+        TwoTierCache cache = cache(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = pool.submit(() -> cache.get("qa", () -> {
+                release.await();
+                throw new IllegalStateException("database unavailable");
+            }));
+            while (cache.getLoadCount() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<Object> follower = pool.submit(() -> cache.get("qa", () -> "unused"));
+            while (cache.getCoalescedLoadCount() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<Object> result : List.of(leader, follower)) {
+                Exception e = assertThrows(Exception.class, result::get);
+                assertInstanceOf(Cache.ValueRetrievalException.class, e.getCause());
+                assertInstanceOf(IllegalStateException.class, e.getCause().getCause());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertNull(remoteValue("qa"));
+    }
+
+    @Test
+    void stuckLoader_waitIsBounded() throws Exception {
+        TwoTierCache cache = cache(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> cache.get("uat", () -> {
+                release.await();
+                return "slow";
+            }));
+            while (cache.getLoadCount() == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertEquals("fast", cache.get("uat", () -> "fast"));
+            assertEquals(1, cache.getLoadWaitTimeoutCount());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void entryInsideRefreshWindow_isServedWhileReloadedInBackground() throws Exception {
+        TwoTierCache cache = cache(Duration.ofSeconds(5));
+        storeWrittenAgo("dev", "old", Duration.ofMinutes(27));
+        CountDownLatch reloaded = new CountDownLatch(1);
+
+        assertEquals("old", cache.get("dev", () -> {
+            reloaded.countDown();
+            return "new";
+        }));
+
+        assertTrue(reloaded.await(5, TimeUnit.SECONDS));
+        while (!"new".equals(remoteValue("dev"))) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, cache.getRefreshCount());
+        assertEquals("new", cache.get("dev", () -> "unused"));
+    }
+
+    @Test
+    void expiredEntry_isServedStaleWhenReloadFails() {
+        TwoTierCache cache = cache(Duration.ofSeconds(5));
+        storeWrittenAgo("dev", "old", Duration.ofMinutes(40));
+
+        assertEquals("old", cache.get("dev", () -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+        assertEquals(1, cache.getStaleHitCount());
+        assertNull(cache.get("dev"));
+    }
+
+    @Test
+    void entryPastGracePeriod_isReloadedSynchronously() {
+        TwoTierCache cache = cache(Duration.ofSeconds(5));
+        storeWrittenAgo("dev", "old", Duration.ofMinutes(61));
+
+        assertEquals("new", cache.get("dev", () -> "new"));
+        assertEquals(0, cache.getStaleHitCount());
+    }
+
+    @Test
+    void evictionDuringLoad_preventsTheStore() throws Exception {
+        List<Consumer<TwoTierCache>> evictions = List.of(
+            c -> c.evict("staging"),
+            TwoTierCache::clear,
+            c -> c.invalidateLocal(new CacheInvalidation("serviceUrls", "staging")),
+            c -> c.invalidateLocal(CacheInvalidation.allEntries("serviceUrls")),
+            TwoTierCache::clearLocal);
+        for (Consumer<TwoTierCache> eviction : evictions) {
+            TwoTierCache cache = cache(Duration.ofSeconds(5));
+            CountDownLatch loading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            ExecutorService pool = Executors.newSingleThreadExecutor();
+            try {
+                Future<String> result = pool.submit(() -> cache.get("staging", () -> {
+                    loading.countDown();
+                    release.await();
+                    return "old-urls";
+                }));
+                loading.await();
+                eviction.accept(cache);
+                release.countDown();
+
+                assertEquals("old-urls", result.get());
+            } finally {
+                pool.shutdownNow();
+            }
+            assertNull(remoteValue("staging"));
+            assertNull(cache.getLocalCache().getIfPresent("staging"));
+            assertEquals("new-urls", cache.get("staging", () -> "new-urls"));
+            remote.clear();
+        }
+    }
+
+    @Test
+    void evictionDuringTimedOutWait_preventsTheFallbackStore() throws Exception {
+        TwoTierCache cache = cache(Duration.ofMillis(50));
+        CountDownLatch leaderRelease = new CountDownLatch(1);
+        CountDownLatch followerLoading = new CountDownLatch(1);
+        CountDownLatch followerRelease = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = pool.submit(() -> cache.get("staging", () -> {
+                leaderRelease.await();
+                return "leader-urls";
+            }));
+            while (cache.getLoadCount() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<String> follower = pool.submit(() -> cache.get("staging", () -> {
+                followerLoading.countDown();
+                followerRelease.await();
+                return "old-urls";
+            }));
+            followerLoading.await();
+            cache.evict("staging");
+            followerRelease.countDown();
+            leaderRelease.countDown();
+
+            assertEquals("old-urls", follower.get());
+            assertEquals("leader-urls", leader.get());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertNull(remoteValue("staging"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.quckapp.admin.domain.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_setsVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        // The counter may push the timestamp field ahead by a millisecond under heavy use
+        assertTrue(millis >= before && millis <= after + 1, "timestamp " + millis + " outside " + before + ".." + after);
+    }
+
+    @Test
+    void next_isStrictlyIncreasingInStorageOrder() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+        for (int i = 1; i < ids.size(); i++) {
+            // BINARY(16) compares bytes unsigned, most significant first
+            assertTrue(Long.compareUnsigned(ids.get(i - 1).getMostSignificantBits(), ids.get(i).getMostSignificantBits()) < 0,
+                "ids " + (i - 1) + " and " + i + " are out of order");
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.quckapp.admin.health;
+
+import com.quckapp.admin.dto.AdminDtos.HealthWindow;
+import com.quckapp.admin.dto.AdminDtos.ServiceHealth;
+import com.quckapp.admin.dto.AdminDtos.SystemHealthResponse;
+import com.quckapp.admin.service.HealthCheckService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class HealthPollerTest {
+
+    private HealthCheckService healthCheckService;
+    private SimpleMeterRegistry meterRegistry;
+    private HealthPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        HealthCheckProperties properties = new HealthCheckProperties();
+        properties.getPoll().setHistorySize(8);
+        properties.getPoll().setWindows(List.of(Duration.ofMinutes(1), Duration.ofMinutes(5)));
+        healthCheckService = mock(HealthCheckService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        poller = new HealthPoller(healthCheckService, properties, meterRegistry);
+    }
+
+    private static ProbeResult probe(boolean up, long latencyMillis) {
+        return new ProbeResult("auth-service", "SPRING", "http://auth:8080", up, false, TimeUnit.MILLISECONDS.toNanos(latencyMillis), null);
+    }
+
+    @Test
+    void record_computesWindowsOverRetainedSamples() {
+        long start = 0;
+        // One sample per minute for six minutes: the 1m window holds the last, the 5m window the last five
+        for (int minute = 0; minute < 6; minute++) {
+            poller.record(List.of(probe(minute != 5, 10 * (minute + 1))), start + TimeUnit.MINUTES.toNanos(minute));
+        }
+
+        SystemHealthResponse snapshot = poller.current(null).block();
+        ServiceHealth auth = snapshot.getServices().get("auth-service");
+        assertEquals("DOWN", auth.getStatus());
+        HealthWindow oneMinute = auth.getWindows().get(0);
+        assertEquals(1, oneMinute.getSamples());
+        assertEquals(0.0, oneMinute.getAvailability());
+        HealthWindow fiveMinutes = auth.getWindows().get(1);
+        assertEquals(5, fiveMinutes.getSamples());
+        assertEquals(60.0, fiveMinutes.getP99Ms(), 1.0);
+        verifyNoInteractions(healthCheckService);
+
+        assertEquals(0.0, meterRegistry.get("health.service.up").gauge().value());
+        assertEquals(4.0 / 5, meterRegistry.get("health.service.availability").tag("window", "PT5M").gauge().value(), 1e-9);
+        assertEquals(6, meterRegistry.get("health.probe.duration").timers().stream().mapToLong(t -> t.count()).sum());
+    }
+
+    @Test
+    void history_keepsOnlyItsCapacity() {
+        for (int i = 0; i < 20; i++) {
+            poller.record(List.of(probe(true, 5)), TimeUnit.SECONDS.toNanos(i));
+        }
+
+        HealthWindow fiveMinutes = poller.current(null).block().getServices().get("auth-service").getWindows().get(1);
+        assertEquals(8, fiveMinutes.getSamples());
+        assertEquals(1.0, fiveMinutes.getAvailability());
+    }
+
+    @Test
+    void servicesMissingFromASweep_loseTheirHistoryAndMeters() {
+        ProbeResult billing = new ProbeResult("billing-service", "SPRING", "http://billing:8080", true, false,
+            TimeUnit.MILLISECONDS.toNanos(5), null);
+        poller.record(List.of(probe(true, 5), billing), 0);
+        poller.record(List.of(probe(true, 5)), TimeUnit.SECONDS.toNanos(15));
+
+        assertFalse(poller.current(null).block().getServices().containsKey("billing-service"));
+        assertTrue(meterRegistry.find("health.service.up").tag("service", "billing-service").meters().isEmpty());
+        assertTrue(meterRegistry.find("health.service.latency").tag("service", "billing-service").meters().isEmpty());
+        assertTrue(meterRegistry.find("health.probe.duration").tag("service", "billing-service").meters().isEmpty());
+        assertEquals(1, meterRegistry.find("health.service.up").meters().size());
+        assertEquals(6, meterRegistry.find("health.service.latency").tag("service", "auth-service").meters().size());
+
+        // A service that comes back starts over
+        poller.record(List.of(probe(true, 5), billing), TimeUnit.SECONDS.toNanos(30));
+        assertEquals(1, poller.current(null).block().getServices().get("billing-service").getWindows().get(1).getSamples());
+        assertEquals(1.0, meterRegistry.get("health.service.up").tag("service", "billing-service").gauge().value());
+    }
+
+    @Test
+    void onDemandSweeps_areSharedPerEnvironmentForOneInterval() {
+        AtomicInteger sweeps = new AtomicInteger();
+        when(healthCheckService.checkAllServices(anyString())).thenAnswer(invocation -> Mono.fromCallable(() -> {
+            sweeps.incrementAndGet();
+            return HealthCheckService.summarize(invocation.getArgument(0), List.of());
+        }));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("staging", poller.current("staging").block().getEnvironment());
+        }
+        poller.current("production").block();
+
+        assertEquals(2, sweeps.get());
+        verify(healthCheckService, times(1)).checkAllServices("staging");
+    }
+
+    @Test
+    void failedOnDemandSweep_isNotReused() {
+        AtomicInteger sweeps = new AtomicInteger();
+        when(healthCheckService.checkAllServices("staging")).thenReturn(Mono.defer(() -> {
+            sweeps.incrementAndGet();
+            return Mono.error(new IllegalStateException("service list unavailable"));
+        }));
+
+        assertThrows(IllegalStateException.class, () -> poller.current("staging").block());
+        assertThrows(IllegalStateException.class, () -> poller.current("staging").block());
+
+        assertEquals(2, sweeps.get());
+    }
+}
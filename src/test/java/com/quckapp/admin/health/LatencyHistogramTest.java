@@ -0,0 +1,47 @@
+package com.quckapp.admin.health;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValues_areExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.recordMicros(i);
+        }
+
+        assertEquals(50, histogram.percentileMicros(50));
+        assertEquals(95, histogram.percentileMicros(95));
+        assertEquals(100, histogram.percentileMicros(100));
+    }
+
+    @Test
+    void largeValues_stayWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new Random(42).longs(10_000, 100, 30_000_000).sorted().toArray();
+        for (long value : values) {
+            histogram.recordMicros(value);
+        }
+
+        for (double percentile : new double[]{50, 95, 99}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.percentileMicros(percentile);
+            assertTrue(Math.abs(reported - exact) <= exact / 64 + 1,
+                "p" + percentile + ": expected about " + exact + " but was " + reported);
+        }
+    }
+
+    @Test
+    void indexAndValue_roundTripAtBucketEdges() {
+        for (long value : new long[]{127, 128, 255, 256, 1_000_000, LatencyHistogram.MAX_VALUE_MICROS}) {
+            long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(value));
+            assertTrue(highest >= value && highest - value <= value / 64, value + " -> " + highest);
+        }
+        assertEquals(0, new LatencyHistogram().percentileMicros(99));
+    }
+}
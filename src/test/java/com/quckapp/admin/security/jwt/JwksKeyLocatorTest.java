@@ -0,0 +1,172 @@
+package com.quckapp.admin.security.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies tokens against a JWKS served by a local stub standing in for the auth-service.
+ */
+class JwksKeyLocatorTest {
+
+    private final KeyPair rsa = Jwts.SIG.RS256.keyPair().build();
+    private final KeyPair ec = Jwts.SIG.ES256.keyPair().build();
+    private final KeyPair rotated = Jwts.SIG.RS256.keyPair().build();
+    private final AtomicReference<String> document = new AtomicReference<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private HttpServer server;
+    private JwksKeyLocator locator;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        document.set(jwks(Map.of("rsa-1", rsa, "ec-1", ec)));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = document.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        JwksProperties properties = new JwksProperties();
+        properties.setUri("http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json");
+        properties.setMinRefreshInterval(Duration.ofMillis(500));
+        properties.setTimeout(Duration.ofSeconds(2));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        locator = new JwksKeyLocator(properties, meterRegistry);
+        locator.start();
+        // Without the verified-token cache, so every call reaches the locator
+        jwtService = new JwtService(Jwts.parser().keyLocator(locator).requireIssuer("quckapp-auth-local").build(),
+            0, Duration.ofMinutes(5), Duration.ofSeconds(10), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        locator.close();
+        server.stop(0);
+    }
+
+    private static String jwks(Map<String, KeyPair> keys) throws Exception {
+        List<Map<String, ?>> jwks = new ArrayList<>();
+        keys.forEach((kid, pair) -> {
+            PublicJwk<?> jwk = Jwks.builder().key(pair.getPublic()).id(kid).publicKeyUse("sig").build();
+            jwks.add(jwk);
+        });
+        return new ObjectMapper().writeValueAsString(Map.of("keys", jwks));
+    }
+
+    private static String token(String kid, KeyPair pair) {
+        return Jwts.builder()
+            .header().keyId(kid).and()
+            .subject("0190a5f2-1c4e-7b2a-9d3f-5e6a7b8c9d0e")
+            .issuer("quckapp-auth-local")
+            .claim("type", "access")
+            .expiration(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+            .signWith(pair.getPrivate())
+            .compact();
+    }
+
+    // ===== Verification Tests =====
+
+    @Nested
+    class Verification {
+
+        @Test
+        void acceptsRs256AndEs256TokensWithoutFetching() {
+            assertTrue(jwtService.authenticate(token("rsa-1", rsa)).isPresent());
+            assertTrue(jwtService.authenticate(token("ec-1", ec)).isPresent());
+
+            assertEquals(1, fetches.get());
+        }
+
+        @Test
+        void rejectsWrongKeyAndSharedSecretTokens() {
+            String hmac = Jwts.builder().header().keyId("rsa-1").and()
+                .subject("0190a5f2-1c4e-7b2a-9d3f-5e6a7b8c9d0e").issuer("quckapp-auth-local").claim("type", "access")
+                .signWith(Jwts.SIG.HS256.key().build())
+                .compact();
+
+            assertTrue(jwtService.authenticate(token("rsa-1", ec)).isEmpty());
+            assertTrue(jwtService.authenticate(hmac).isEmpty());
+        }
+    }
+
+    // ===== Key Rotation Tests =====
+
+    @Nested
+    class KeyRotation {
+
+        @Test
+        void unknownKid_refreshesOnceAndAcceptsRotatedKey() throws Exception {
+            Thread.sleep(600);
+            document.set(jwks(Map.of("rsa-2", rotated)));
+
+            List<CompletableFuture<Boolean>> storm = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                storm.add(CompletableFuture.supplyAsync(() -> jwtService.authenticate(token("rsa-2", rotated)).isPresent()));
+            }
+
+            assertTrue(storm.stream().allMatch(CompletableFuture::join));
+            assertEquals(2, fetches.get());
+            assertTrue(jwtService.authenticate(token("rsa-1", rsa)).isEmpty(), "retired key is dropped");
+        }
+
+        @Test
+        void unknownKidRefreshes_areRateLimited() throws Exception {
+            Thread.sleep(600);
+
+            for (int i = 0; i < 10; i++) {
+                assertTrue(jwtService.authenticate(token("forged-" + i, rotated)).isEmpty());
+            }
+
+            assertEquals(2, fetches.get());
+        }
+
+        @Test
+        void unknownKidRejection_isNotCachedUntilTheKeyIsPublished() throws Exception {
+            JwtService cached = new JwtService(Jwts.parser().keyLocator(locator).requireIssuer("quckapp-auth-local").build(),
+                100, Duration.ofMinutes(5), Duration.ofSeconds(10), new SimpleMeterRegistry());
+            String token = token("rsa-2", rotated);
+            String forged = token("rsa-1", rotated);
+            Thread.sleep(600);
+            // Refreshes without the new key, then the new key id cannot be fetched again until the rate limit passes
+            assertTrue(cached.authenticate(token).isEmpty());
+            document.set(jwks(Map.of("rsa-1", rsa, "rsa-2", rotated)));
+            assertTrue(cached.authenticate(token).isEmpty());
+            assertTrue(cached.authenticate(forged).isEmpty());
+            Thread.sleep(600);
+
+            assertTrue(cached.authenticate(token).isPresent());
+            assertTrue(cached.authenticate(forged).isEmpty());
+            assertEquals(3, fetches.get());
+        }
+    }
+}
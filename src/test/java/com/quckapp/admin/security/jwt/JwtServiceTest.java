@@ -0,0 +1,116 @@
+package com.quckapp.admin.security.jwt;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String USER_ID = "0190a5f2-1c4e-7b2a-9d3f-5e6a7b8c9d0e";
+
+    private final SecretKey key = Jwts.SIG.HS256.key().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JwtService jwtService(long cacheMaxSize, Duration maxTtl) {
+        JwtParser parser = Jwts.parser().verifyWith(key).requireIssuer("quckapp-auth-local").build();
+        return new JwtService(parser, cacheMaxSize, maxTtl, Duration.ofSeconds(10), meterRegistry);
+    }
+
+    private JwtBuilder token() {
+        return Jwts.builder()
+            .subject(USER_ID)
+            .issuer("quckapp-auth-local")
+            .claim("type", "access")
+            .claim("email", "admin@quckapp.com")
+            .expiration(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+            .signWith(key);
+    }
+
+    private long verifications(String result) {
+        return meterRegistry.get("jwt.verify.duration").tag("result", result).timer().count();
+    }
+
+    // ===== Verification Tests =====
+
+    @Nested
+    class Verification {
+
+        private final JwtService jwtService = jwtService(0, Duration.ofMinutes(5));
+
+        @Test
+        void authenticate_validAccessToken_returnsPrincipal() {
+            Optional<JwtUserPrincipal> principal = jwtService.authenticate(token().compact());
+
+            assertTrue(principal.isPresent());
+            assertEquals(UUID.fromString(USER_ID), principal.get().getUserId());
+            assertEquals("admin@quckapp.com", principal.get().getEmail());
+        }
+
+        @Test
+        void authenticate_rejectsWrongIssuerExpirySignatureOrType() {
+            String otherKeyToken = token().signWith(Jwts.SIG.HS256.key().build()).compact();
+
+            assertTrue(jwtService.authenticate(token().issuer("someone-else").compact()).isEmpty());
+            assertTrue(jwtService.authenticate(token().expiration(Date.from(Instant.now().minusSeconds(60))).compact()).isEmpty());
+            assertTrue(jwtService.authenticate(otherKeyToken).isEmpty());
+            assertTrue(jwtService.authenticate(token().claim("type", "refresh").compact()).isEmpty());
+            assertTrue(jwtService.authenticate("not-a-token").isEmpty());
+        }
+    }
+
+    // ===== Cache Tests =====
+
+    @Nested
+    class VerifiedTokenCache {
+
+        @Test
+        void repeatedTokens_areVerifiedOnce() {
+            JwtService jwtService = jwtService(100, Duration.ofMinutes(5));
+            String valid = token().compact();
+
+            for (int i = 0; i < 3; i++) {
+                assertTrue(jwtService.authenticate(valid).isPresent());
+                assertTrue(jwtService.authenticate("not-a-token").isEmpty());
+            }
+
+            assertEquals(1, verifications("accepted"));
+            assertEquals(1, verifications("rejected"));
+            assertEquals(4.0 / 6, meterRegistry.get("jwt.cache.hit.ratio").gauge().value(), 1e-9);
+        }
+
+        @Test
+        void tokensDifferingInNonAsciiCharacters_doNotShareAnEntry() {
+            JwtService jwtService = jwtService(100, Duration.ofMinutes(5));
+
+            assertTrue(jwtService.authenticate("token-\u00e9").isEmpty());
+            assertTrue(jwtService.authenticate("token-\u00fc").isEmpty());
+
+            assertEquals(2, verifications("rejected"));
+        }
+
+        @Test
+        void entries_expireWithTheToken() throws InterruptedException {
+            JwtService jwtService = jwtService(100, Duration.ofMinutes(5));
+            String shortLived = token().expiration(Date.from(Instant.now().plusMillis(1500))).compact();
+
+            assertTrue(jwtService.authenticate(shortLived).isPresent());
+            Thread.sleep(1600);
+
+            assertTrue(jwtService.authenticate(shortLived).isEmpty());
+            assertEquals(1, verifications("rejected"));
+        }
+    }
+}
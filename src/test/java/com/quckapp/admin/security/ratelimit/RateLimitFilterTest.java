@@ -0,0 +1,201 @@
+package com.quckapp.admin.security.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quckapp.admin.security.jwt.JwtUserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        RateLimitProperties.Route publicConfig = new RateLimitProperties.Route();
+        publicConfig.setPatterns(List.of("/api/v1/config/**"));
+        publicConfig.setCapacity(2);
+        publicConfig.setRefillPerSecond(0.5);
+        properties.getRoutes().put("public-config", publicConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse call(RateLimitFilter filter, String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    // ===== Token Bucket Tests =====
+
+    @Nested
+    class Bucket {
+
+        @Test
+        void allowsBurstThenRefillsAtRate() {
+            TokenBucket bucket = new TokenBucket(3, 10, 0);
+            long interval = TimeUnit.MILLISECONDS.toNanos(100);
+
+            assertEquals(0, bucket.tryAcquire(0));
+            assertEquals(0, bucket.tryAcquire(0));
+            assertEquals(0, bucket.tryAcquire(0));
+            assertEquals(interval, bucket.tryAcquire(0));
+            assertEquals(0, bucket.tryAcquire(interval));
+            assertTrue(bucket.tryAcquire(interval) > 0);
+        }
+
+        @Test
+        void concurrentAcquires_neverExceedCapacity() {
+            TokenBucket bucket = new TokenBucket(100, 0.001, System.nanoTime());
+            AtomicInteger allowed = new AtomicInteger();
+            List<CompletableFuture<Void>> threads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                threads.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        if (bucket.tryAcquire(System.nanoTime()) == 0) allowed.incrementAndGet();
+                    }
+                }));
+            }
+            threads.forEach(CompletableFuture::join);
+
+            assertEquals(100, allowed.get());
+        }
+
+        @Test
+        void idleBuckets_areBounded() {
+            properties.setMaxBuckets(10);
+            LocalRateLimiter limiter = new LocalRateLimiter(properties);
+            RateLimitProperties.Route limit = properties.getRoutes().get("public-config");
+
+            for (int i = 0; i < 1000; i++) {
+                limiter.tryAcquire("public-config", limit, "ip:10.0.0." + i);
+            }
+
+            assertTrue(limiter.size() <= 10, "buckets: " + limiter.size());
+        }
+    }
+
+    // ===== Filter Tests =====
+
+    @Nested
+    class Filter {
+
+        private RateLimitFilter filter;
+
+        @BeforeEach
+        void setUp() {
+            filter = new RateLimitFilter(new LocalRateLimiter(properties), properties, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry());
+        }
+
+        @Test
+        void overLimit_returns429WithRetryAfter() throws Exception {
+            assertEquals(200, call(filter, "/api/v1/config/versions", "10.0.0.1").getStatus());
+            assertEquals(200, call(filter, "/api/v1/config/versions", "10.0.0.1").getStatus());
+
+            MockHttpServletResponse limited = call(filter, "/api/v1/config/versions", "10.0.0.1");
+
+            assertEquals(429, limited.getStatus());
+            assertEquals("2", limited.getHeader("Retry-After"));
+            assertTrue(limited.getContentAsString().contains("Too many requests"));
+            assertEquals(200, call(filter, "/api/v1/config/versions", "10.0.0.2").getStatus(), "other clients unaffected");
+            assertEquals(200, call(filter, "/api/v1/admin/settings", "10.0.0.1").getStatus(), "unlisted routes unlimited");
+        }
+
+        @Test
+        void unverifiedApiKeyHeaders_doNotBypassTheLimit() throws Exception {
+            for (int i = 0; i < 2; i++) {
+                call(filter, "/api/v1/config/versions", "10.0.0.1");
+            }
+
+            for (int i = 0; i < 5; i++) {
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/config/versions");
+                request.setServletPath("/api/v1/config/versions");
+                request.setRemoteAddr("10.0.0.1");
+                request.addHeader("X-API-Key", UUID.randomUUID().toString());
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(request, response, new MockFilterChain());
+                assertEquals(429, response.getStatus());
+            }
+        }
+
+        @Test
+        void authenticatedCallers_areLimitedPerUser() throws Exception {
+            JwtUserPrincipal principal = JwtUserPrincipal.builder().userId(UUID.randomUUID()).build();
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+
+            call(filter, "/api/v1/config/versions", "10.0.0.1");
+            call(filter, "/api/v1/config/versions", "10.0.0.2");
+
+            assertEquals(429, call(filter, "/api/v1/config/versions", "10.0.0.3").getStatus());
+        }
+    }
+
+    // ===== Redis Mode Tests =====
+
+    @Nested
+    class RedisMode {
+
+        private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        private final RateLimitProperties.Route limit = new RateLimitProperties.Route();
+
+        @Test
+        void tokensAreTakenFromRedisInBatches() {
+            when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(), any(), any()))
+                .thenReturn(10L, -1500L);
+            RedisRateLimiter limiter = new RedisRateLimiter(redisTemplate, properties, new LocalRateLimiter(properties));
+
+            for (int i = 0; i < 10; i++) {
+                assertEquals(0, limiter.tryAcquire("public-config", limit, "ip:10.0.0.1"));
+            }
+            long wait = limiter.tryAcquire("public-config", limit, "ip:10.0.0.1");
+            long stillWaiting = limiter.tryAcquire("public-config", limit, "ip:10.0.0.1");
+
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(1500), wait);
+            assertTrue(stillWaiting > 0 && stillWaiting <= wait);
+            verify(redisTemplate, times(2)).execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(List.of("admin-service:rate-limit:public-config:ip:10.0.0.1")),
+                eq("60"), eq("10.0"), eq("10"));
+        }
+
+        @Test
+        void redisFailure_fallsBackToLocalBuckets() {
+            when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+            limit.setCapacity(1);
+            RedisRateLimiter limiter = new RedisRateLimiter(redisTemplate, properties, new LocalRateLimiter(properties));
+
+            assertEquals(0, limiter.tryAcquire("public-config", limit, "ip:10.0.0.1"));
+            assertTrue(limiter.tryAcquire("public-config", limit, "ip:10.0.0.1") > 0);
+        }
+    }
+}
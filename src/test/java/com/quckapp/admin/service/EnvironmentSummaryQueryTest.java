@@ -0,0 +1,104 @@
+package com.quckapp.admin.service;
+
+import com.quckapp.admin.domain.entity.FirebaseEnvironmentConfig;
+import com.quckapp.admin.domain.entity.InfrastructureConfig;
+import com.quckapp.admin.domain.entity.ServiceUrlConfig;
+import com.quckapp.admin.domain.entity.VersionConfig;
+import com.quckapp.admin.domain.entity.VersionStatus;
+import com.quckapp.admin.domain.repository.EnvironmentConfigJdbcRepository;
+import com.quckapp.admin.domain.repository.FirebaseEnvironmentConfigRepository;
+import com.quckapp.admin.domain.repository.InfrastructureConfigRepository;
+import com.quckapp.admin.domain.repository.ServiceUrlConfigRepository;
+import com.quckapp.admin.domain.repository.VersionConfigRepository;
+import com.quckapp.admin.dto.ServiceUrlDtos.EnvironmentSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the grouped summary queries against H2 in MySQL mode.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ServiceUrlManagementService.class, EnvironmentConfigJdbcRepository.class})
+class EnvironmentSummaryQueryTest {
+
+    @Autowired
+    private ServiceUrlManagementService service;
+
+    @Autowired
+    private ServiceUrlConfigRepository serviceUrlRepo;
+
+    @Autowired
+    private InfrastructureConfigRepository infraRepo;
+
+    @Autowired
+    private FirebaseEnvironmentConfigRepository firebaseRepo;
+
+    @Autowired
+    private VersionConfigRepository versionRepo;
+
+    private ServiceUrlConfig serviceUrl(String environment, String serviceKey, String category) {
+        return ServiceUrlConfig.builder()
+                .environment(environment)
+                .serviceKey(serviceKey)
+                .category(category)
+                .url("http://" + serviceKey + ":8080")
+                .build();
+    }
+
+    private VersionConfig version(String environment, String serviceKey, VersionStatus status) {
+        return VersionConfig.builder()
+                .environment(environment)
+                .serviceKey(serviceKey)
+                .apiVersion("v1")
+                .status(status)
+                .build();
+    }
+
+    @Test
+    void getEnvironments_aggregatesAllEnvironmentsAtOnce() {
+        serviceUrlRepo.saveAll(List.of(
+                serviceUrl("staging", "auth-service", "SPRING"),
+                serviceUrl("staging", "user-service", "SPRING"),
+                serviceUrl("staging", "presence-service", "ELIXIR"),
+                serviceUrl("production", "auth-service", "SPRING")));
+        infraRepo.save(InfrastructureConfig.builder().environment("staging").infraKey("mysql").host("db").port(3306).build());
+        firebaseRepo.save(FirebaseEnvironmentConfig.builder().environment("production").build());
+        versionRepo.saveAll(List.of(
+                version("staging", "auth-service", VersionStatus.ACTIVE),
+                version("staging", "user-service", VersionStatus.ACTIVE),
+                version("staging", "presence-service", VersionStatus.PLANNED)));
+        serviceUrlRepo.flush();
+
+        List<EnvironmentSummary> summaries = service.getEnvironments();
+
+        assertEquals(ServiceUrlManagementService.VALID_ENVIRONMENTS.size(), summaries.size());
+        EnvironmentSummary staging = summaries.stream().filter(s -> s.getEnvironment().equals("staging")).findFirst().orElseThrow();
+        assertEquals(3, staging.getServiceCount());
+        assertEquals(Map.of("SPRING", 2L, "ELIXIR", 1L), staging.getServicesByCategory());
+        assertEquals(1, staging.getInfraCount());
+        assertFalse(staging.isHasFirebase());
+        assertNotNull(staging.getLastUpdated());
+        assertEquals(3, staging.getVersionCount());
+        assertEquals(Map.of("ACTIVE", 2L, "PLANNED", 1L), staging.getVersionsByStatus());
+
+        EnvironmentSummary production = summaries.stream().filter(s -> s.getEnvironment().equals("production")).findFirst().orElseThrow();
+        assertEquals(1, production.getServiceCount());
+        assertTrue(production.isHasFirebase());
+        assertEquals(0, production.getVersionCount());
+
+        EnvironmentSummary qa = summaries.stream().filter(s -> s.getEnvironment().equals("qa")).findFirst().orElseThrow();
+        assertEquals(0, qa.getServiceCount());
+        assertNull(qa.getLastUpdated());
+    }
+}
@@ -0,0 +1,118 @@
+package com.quckapp.admin.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quckapp.admin.domain.repository.FeatureFlagRepository;
+import com.quckapp.admin.dto.AdminDtos.*;
+import com.quckapp.admin.service.flag.CompiledFlag;
+import com.quckapp.admin.service.flag.FeatureFlagSnapshot;
+import com.quckapp.admin.service.flag.FeatureFlagSnapshotHolder;
+import com.quckapp.admin.service.flag.FlagDecision;
+import com.quckapp.admin.service.flag.TargetingRuleCompiler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeatureFlagServiceTest {
+
+    private static final UUID WORKSPACE = UUID.randomUUID();
+    private static final UUID OTHER_WORKSPACE = UUID.randomUUID();
+
+    @Mock
+    private FeatureFlagRepository flagRepository;
+
+    @Mock
+    private FeatureFlagSnapshotHolder snapshotHolder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private FeatureFlagService featureFlagService;
+
+    @BeforeEach
+    void setUp() {
+        featureFlagService = new FeatureFlagService(flagRepository, new ObjectMapper(), snapshotHolder, eventPublisher);
+        Map<String, CompiledFlag> flags = new LinkedHashMap<>();
+        for (CompiledFlag flag : List.of(
+                flag("checkout", true, null),
+                flag("search", false, null),
+                flag("export", true, WORKSPACE),
+                flag("billing", true, OTHER_WORKSPACE))) {
+            flags.put(flag.featureKey(), flag);
+        }
+        when(snapshotHolder.current()).thenReturn(new FeatureFlagSnapshot(7L, flags));
+    }
+
+    private static CompiledFlag flag(String featureKey, boolean enabled, UUID workspaceId) {
+        return new CompiledFlag(UUID.randomUUID(), featureKey, enabled, 100, workspaceId,
+                null, null, TargetingRuleCompiler.compile(null), Instant.now());
+    }
+
+    private FeatureBatchCheckResponse check(List<String> featureKeys) {
+        return featureFlagService.checkFeatures(FeatureBatchCheckRequest.builder()
+                .userId(UUID.randomUUID())
+                .workspaceId(WORKSPACE)
+                .featureKeys(featureKeys)
+                .build());
+    }
+
+    // ===== Batch Check Tests =====
+
+    @Nested
+    class BatchCheck {
+
+        @Test
+        void mixedKeys_areEvaluatedInRequestOrder() {
+            FeatureBatchCheckResponse response = check(List.of("search", "unknown", "checkout", "billing"));
+
+            assertEquals(List.of("search", "unknown", "checkout", "billing"), List.copyOf(response.getFeatures().keySet()));
+            assertEquals(FlagDecision.DISABLED.getReason(), response.getFeatures().get("search").getReason());
+            assertEquals(FlagDecision.NOT_FOUND.getReason(), response.getFeatures().get("unknown").getReason());
+            assertFalse(response.getFeatures().get("unknown").isEnabled());
+            assertTrue(response.getFeatures().get("checkout").isEnabled());
+            assertEquals(FlagDecision.WORKSPACE_MISMATCH.getReason(), response.getFeatures().get("billing").getReason());
+            assertEquals(7L, response.getRevision());
+            assertEquals(WORKSPACE, response.getWorkspaceId());
+        }
+
+        @Test
+        void duplicateKeys_appearOnceAtFirstPosition() {
+            FeatureBatchCheckResponse response = check(List.of("checkout", "search", "checkout", "unknown", "unknown"));
+
+            assertEquals(List.of("checkout", "search", "unknown"), List.copyOf(response.getFeatures().keySet()));
+            assertTrue(response.getFeatures().get("checkout").isEnabled());
+        }
+
+        @Test
+        void emptyOrMissingKeys_returnGlobalAndOwnWorkspaceFlags() {
+            FeatureBatchCheckResponse empty = check(List.of());
+            FeatureBatchCheckResponse missing = check(null);
+
+            assertEquals(Set.of("checkout", "search", "export"), empty.getFeatures().keySet());
+            assertEquals(empty.getFeatures().keySet(), missing.getFeatures().keySet());
+            assertTrue(empty.getFeatures().get("export").isEnabled());
+        }
+
+        @Test
+        void batch_readsOneSnapshotWithoutDatabaseHit() {
+            check(List.of("checkout", "search", "export"));
+
+            verify(snapshotHolder, times(1)).current();
+            verifyNoInteractions(flagRepository);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.quckapp.admin.service;
+
+import com.quckapp.admin.config.HealthCheckConfig;
+import com.quckapp.admin.dto.AdminDtos.ServiceHealth;
+import com.quckapp.admin.dto.AdminDtos.SystemHealthResponse;
+import com.quckapp.admin.dto.ServiceUrlDtos.ServiceUrlResponse;
+import com.quckapp.admin.health.HealthCheckProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Probes local stub servers standing in for the registered services.
+ */
+class HealthCheckServiceTest {
+
+    private HttpServer server;
+    private ConnectionProvider pool;
+    private HealthCheckProperties properties;
+    private ServiceUrlManagementService serviceUrlService;
+    private HealthCheckService service;
+    private final List<ServiceUrlResponse> registered = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger brokenHits = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        stub("/fast/actuator/health", 0, 200);
+        stub("/slow/actuator/health", 400, 200);
+        stub("/hung/actuator/health", 10_000, 200);
+        stub("/go/health", 0, 200);
+        stub("/counted/health", 200, 200);
+        stub("/broken/actuator/health", 0, 503);
+        server.start();
+
+        properties = new HealthCheckProperties();
+        properties.setProbeTimeout(Duration.ofSeconds(5));
+        properties.setDeadline(Duration.ofSeconds(2));
+        HealthCheckProperties.Category go = new HealthCheckProperties.Category();
+        go.setHealthPath("/health");
+        go.setConcurrency(2);
+        properties.getCategories().put("GO", go);
+
+        HealthCheckConfig config = new HealthCheckConfig();
+        pool = config.healthCheckConnectionProvider(properties);
+        WebClient webClient = config.healthCheckWebClient(WebClient.builder(), pool, properties);
+        serviceUrlService = mock(ServiceUrlManagementService.class);
+        when(serviceUrlService.getServiceUrlsByEnvironment("qa")).thenReturn(registered);
+        service = new HealthCheckService(webClient, properties, serviceUrlService);
+        // The first request initializes the event loop, which would count against the timings
+        webClient.get().uri(url("/fast/actuator/health")).retrieve().bodyToMono(String.class).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.dispose();
+        server.stop(0);
+    }
+
+    private void stub(String path, long delayMillis, int status) {
+        server.createContext(path, exchange -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            if (status != 200) brokenHits.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            byte[] body = (status == 200 ? "{\"status\":\"UP\"}" : "{\"status\":\"DOWN\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private void register(String serviceKey, String category, String path, boolean active) {
+        registered.add(ServiceUrlResponse.builder()
+            .environment("qa")
+            .serviceKey(serviceKey)
+            .category(category)
+            .url(url(path))
+            .isActive(active)
+            .build());
+    }
+
+    // ===== Sweep Tests =====
+
+    @Nested
+    class Sweep {
+
+        @Test
+        void probesConcurrently_withCategoryHealthPaths() {
+            register("auth-service", "SPRING", "/slow", true);
+            register("user-service", "SPRING", "/slow", true);
+            register("permission-service", "SPRING", "/slow", true);
+            register("channel-service", "GO", "/go", true);
+            register("retired-service", "SPRING", "/broken", false);
+
+            long start = System.nanoTime();
+            SystemHealthResponse health = service.checkAllServices("qa").block();
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            assertEquals("UP", health.getStatus());
+            assertEquals("qa", health.getEnvironment());
+            assertEquals(List.of("auth-service", "user-service", "permission-service", "channel-service"),
+                List.copyOf(health.getServices().keySet()));
+            assertEquals(3, health.getCategories().get("SPRING").getUp());
+            assertEquals("UP", health.getCategories().get("GO").getStatus());
+            assertTrue(health.getServices().get("auth-service").getResponseTimeMs() >= 400);
+            // Sequential probes would take at least 1200 ms
+            assertTrue(elapsedMillis < 1200, "Sweep took " + elapsedMillis + " ms");
+            assertEquals(0, brokenHits.get());
+        }
+
+        @Test
+        void reportsProbesPastDeadlineDown() {
+            register("auth-service", "SPRING", "/hung", true);
+            register("user-service", "SPRING", "/fast", true);
+
+            long start = System.nanoTime();
+            SystemHealthResponse health = service.checkAllServices("qa").block();
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            assertEquals("DEGRADED", health.getStatus());
+            assertEquals("Deadline exceeded", health.getServices().get("auth-service").getError());
+            assertEquals("UP", health.getServices().get("user-service").getStatus());
+            assertEquals("DEGRADED", health.getCategories().get("SPRING").getStatus());
+            assertTrue(elapsedMillis < 4000, "Sweep took " + elapsedMillis + " ms");
+        }
+
+        @Test
+        void boundsConcurrencyPerCategory() {
+            for (int i = 0; i < 6; i++) {
+                register("go-service-" + i, "GO", "/counted", true);
+            }
+
+            SystemHealthResponse health = service.checkAllServices("qa").block();
+
+            assertEquals(6, health.getCategories().get("GO").getUp());
+            assertEquals(2, maxInFlight.get());
+        }
+    }
+
+    // ===== Circuit Breaker Tests =====
+
+    @Nested
+    class CircuitBreaker {
+
+        @Test
+        void failingService_isSkippedUntilOpenPeriodEnds() throws InterruptedException {
+            properties.getCircuitBreaker().setFailureThreshold(2);
+            properties.getCircuitBreaker().setOpenDuration(Duration.ofMillis(300));
+            register("auth-service", "SPRING", "/broken", true);
+
+            service.checkAllServices("qa").block();
+            service.checkAllServices("qa").block();
+            ServiceHealth skipped = service.checkAllServices("qa").block().getServices().get("auth-service");
+
+            assertEquals(2, brokenHits.get());
+            assertEquals("DOWN", skipped.getStatus());
+            assertEquals("Circuit open after repeated failures", skipped.getError());
+
+            Thread.sleep(350);
+            service.checkAllServices("qa").block();
+            assertEquals(3, brokenHits.get(), "one trial probe after the open period");
+            service.checkAllServices("qa").block();
+            assertEquals(3, brokenHits.get(), "failed trial reopens the breaker");
+        }
+    }
+}
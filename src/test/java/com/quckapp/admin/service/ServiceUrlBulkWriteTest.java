@@ -0,0 +1,160 @@
+package com.quckapp.admin.service;
+
+import com.quckapp.admin.domain.entity.InfrastructureConfig;
+import com.quckapp.admin.domain.repository.EnvironmentConfigJdbcRepository;
+import com.quckapp.admin.domain.repository.InfrastructureConfigRepository;
+import com.quckapp.admin.domain.repository.ServiceUrlConfigRepository;
+import com.quckapp.admin.dto.ServiceUrlDtos.*;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the set-based environment writes against H2 in MySQL mode.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ServiceUrlManagementService.class, EnvironmentConfigJdbcRepository.class})
+class ServiceUrlBulkWriteTest {
+
+    private static final UUID ADMIN = UUID.randomUUID();
+
+    @Autowired
+    private ServiceUrlManagementService service;
+
+    @Autowired
+    private ServiceUrlConfigRepository serviceUrlRepo;
+
+    @Autowired
+    private InfrastructureConfigRepository infraRepo;
+
+    private static CreateServiceUrlRequest serviceUrl(String serviceKey, String url) {
+        return CreateServiceUrlRequest.builder()
+            .serviceKey(serviceKey)
+            .category("SPRING")
+            .url(url)
+            .build();
+    }
+
+    private static CreateInfrastructureRequest infra(String infraKey, String host, String password) {
+        return CreateInfrastructureRequest.builder()
+            .infraKey(infraKey)
+            .host(host)
+            .port(3306)
+            .password(password)
+            .build();
+    }
+
+    // ===== Bulk Import Tests =====
+
+    @Nested
+    class BulkImport {
+
+        @Test
+        void reimport_countsInsertedUpdatedAndUnchanged() {
+            service.bulkImport("staging", BulkImportRequest.builder()
+                .services(List.of(serviceUrl("auth-service", "http://auth:8080"), serviceUrl("user-service", "http://user:8081")))
+                .infrastructure(List.of(infra("mysql", "db", "secret")))
+                .build(), ADMIN);
+
+            BulkExportResponse response = service.bulkImport("staging", BulkImportRequest.builder()
+                .services(List.of(
+                    serviceUrl("auth-service", "http://auth:8080"),
+                    serviceUrl("user-service", "http://user:9091"),
+                    serviceUrl("file-service", "http://file:8082")))
+                .infrastructure(List.of(infra("mysql", "db", null)))
+                .build(), ADMIN);
+
+            assertEquals(new ImportCounts(1, 1, 1), response.getStats().getServices());
+            assertEquals(new ImportCounts(0, 0, 1), response.getStats().getInfrastructure());
+            assertEquals(3, response.getServices().size());
+            assertEquals("http://user:9091", serviceUrlRepo.findByEnvironmentAndServiceKey("staging", "user-service").orElseThrow().getUrl());
+            InfrastructureConfig mysql = infraRepo.findByEnvironmentAndInfraKey("staging", "mysql").orElseThrow();
+            assertEquals("secret", mysql.getPasswordEncrypted());
+            assertNotNull(mysql.getId());
+        }
+
+        @Test
+        void duplicateKeys_lastEntryWins() {
+            BulkExportResponse response = service.bulkImport("qa", BulkImportRequest.builder()
+                .services(List.of(serviceUrl("auth-service", "http://old:8080"), serviceUrl("auth-service", "http://new:8080")))
+                .build(), ADMIN);
+
+            assertEquals(new ImportCounts(1, 0, 0), response.getStats().getServices());
+            assertEquals("http://new:8080", response.getServices().get(0).getUrl());
+        }
+    }
+
+    // ===== Clone Tests =====
+
+    @Nested
+    class CloneEnvironment {
+
+        private final CloneEnvironmentRequest qaToUat = new CloneEnvironmentRequest("qa", "uat1");
+
+        private void seed() {
+            service.bulkImport("qa", BulkImportRequest.builder()
+                .services(List.of(
+                    serviceUrl("auth-service", "http://auth:8080"),
+                    serviceUrl("user-service", "http://user:8081"),
+                    serviceUrl("file-service", "http://file:8082")))
+                .infrastructure(List.of(infra("mysql", "qa-db", "qa-secret")))
+                .build(), ADMIN);
+            service.bulkImport("uat1", BulkImportRequest.builder()
+                .services(List.of(
+                    serviceUrl("auth-service", "http://auth:8080"),
+                    serviceUrl("user-service", "http://user:9999"),
+                    serviceUrl("uat-only", "http://uat:8000")))
+                .infrastructure(List.of(infra("mysql", "uat-db", "uat-secret")))
+                .build(), ADMIN);
+        }
+
+        @Test
+        void preview_reportsChangesWithoutWriting() {
+            seed();
+
+            CloneDiff diff = service.previewClone(qaToUat);
+
+            assertEquals(List.of(
+                new KeyChange("auth-service", ChangeType.UNCHANGED),
+                new KeyChange("file-service", ChangeType.ADDED),
+                new KeyChange("user-service", ChangeType.CHANGED)), diff.getServices());
+            assertEquals(List.of(new KeyChange("mysql", ChangeType.CHANGED)), diff.getInfrastructure());
+            assertNull(diff.getFirebase());
+            assertEquals(new ImportCounts(1, 1, 1), diff.getStats().getServices());
+            assertFalse(serviceUrlRepo.existsByEnvironmentAndServiceKey("uat1", "file-service"));
+        }
+
+        @Test
+        void clone_copiesDifferencesAndKeepsTargetOnlyRows() {
+            seed();
+
+            BulkExportResponse response = service.cloneEnvironment(qaToUat, ADMIN);
+
+            assertEquals(new ImportCounts(1, 1, 1), response.getStats().getServices());
+            assertEquals(4, response.getServices().size());
+            assertEquals("http://user:8081", serviceUrlRepo.findByEnvironmentAndServiceKey("uat1", "user-service").orElseThrow().getUrl());
+            InfrastructureConfig mysql = infraRepo.findByEnvironmentAndInfraKey("uat1", "mysql").orElseThrow();
+            assertEquals("qa-db", mysql.getHost());
+            assertEquals("uat-secret", mysql.getPasswordEncrypted());
+            assertNotNull(serviceUrlRepo.findByEnvironmentAndServiceKey("uat1", "file-service").orElseThrow().getId());
+            assertTrue(service.previewClone(qaToUat).getServices().stream().allMatch(c -> c.getChange() == ChangeType.UNCHANGED));
+        }
+
+        @Test
+        void clone_sameEnvironment_throws() {
+            assertThrows(IllegalArgumentException.class,
+                () -> service.cloneEnvironment(new CloneEnvironmentRequest("qa", "qa"), ADMIN));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.quckapp.admin.service;
+
+import com.quckapp.admin.domain.entity.VersionStatus;
+import com.quckapp.admin.domain.repository.VersionConfigRepository;
+import com.quckapp.admin.dto.VersionDtos.BulkPlanRequest;
+import com.quckapp.admin.dto.VersionDtos.VersionConfigResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts JDBC round trips of the bulk write paths against H2 in MySQL mode.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({VersionService.class, VersionServiceBatchingTest.StatementCounting.class})
+class VersionServiceBatchingTest {
+
+    private static final AtomicInteger executions = new AtomicInteger();
+
+    @Autowired
+    private VersionService versionService;
+
+    @Autowired
+    private VersionConfigRepository versionRepo;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void bulkPlan_thousandServices_usesBatchedInserts() {
+        List<String> serviceKeys = IntStream.range(0, 1000).mapToObj(i -> "service-" + i).toList();
+        // One key already planned: it must be reported, not inserted again
+        versionService.bulkPlan(new BulkPlanRequest("dev", "v2", List.of("service-7"), null), "setup");
+        entityManager.flush();
+        entityManager.clear();
+
+        executions.set(0);
+        List<VersionConfigResponse> planned = versionService.bulkPlan(
+                new BulkPlanRequest("dev", "v2", serviceKeys, "bulk"), "admin");
+        entityManager.flush();
+        int statements = executions.get();
+
+        assertEquals(1000, planned.size());
+        assertEquals("setup", planned.get(7).updatedBy());
+        assertTrue(planned.stream().allMatch(v -> v.status() == VersionStatus.PLANNED && v.id() != null));
+        assertEquals(1000, versionRepo.findByEnvironmentAndApiVersion("dev", "v2").size());
+        // 2 lookup chunks of 500 keys + 999 rows in batches of 100; one statement per row before batching
+        assertTrue(statements <= 12, "Expected at most 12 JDBC executions but saw " + statements);
+    }
+
+    /**
+     * Wraps the data source so every statement execution, batched or not, is counted once.
+     */
+    @TestConfiguration
+    static class StatementCounting {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) return bean;
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return countingConnection(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection countingConnection(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return result instanceof Statement statement ? countingStatement(statement) : result;
+                });
+        }
+
+        private static Statement countingStatement(Statement statement) {
+            return (Statement) Proxy.newProxyInstance(statement.getClass().getClassLoader(),
+                ClassUtils.getAllInterfacesForClass(statement.getClass()),
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) executions.incrementAndGet();
+                    return invoke(statement, method, args);
+                });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
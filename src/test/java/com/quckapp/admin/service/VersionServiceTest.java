@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +34,9 @@ class VersionServiceTest {
     @Mock
     private VersionProfileRepository profileRepo;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private VersionService versionService;
 
@@ -335,4 +339,55 @@ class VersionServiceTest {
                             && config.getChangelog().contains("manager2")));
         }
     }
+
+    // ===== Bulk Activate Tests =====
+
+    @Nested
+    class BulkActivate {
+
+        @Test
+        void bulkActivate_checksChainOnceAndUpdatesInOneStatement() {
+            VersionConfig promoted = readyVersion("staging", "user-service", "v2");
+            VersionConfig notInUat = readyVersion("staging", "auth-service", "v2");
+            when(versionRepo.findByEnvironmentAndStatus("staging", VersionStatus.READY))
+                    .thenReturn(List.of(promoted, notInUat));
+            when(versionRepo.findByEnvironmentInAndServiceKeyInAndStatus(
+                    eq(List.of("uat", "uat1", "uat2", "uat3")), anyCollection(), eq(VersionStatus.ACTIVE)))
+                    .thenReturn(List.of(activeVersion("uat2", "user-service", "v2")));
+            when(versionRepo.transitionStatus(eq(List.of(promoted.getId())), eq(VersionStatus.READY),
+                    eq(VersionStatus.ACTIVE), eq("admin"), any())).thenReturn(1);
+
+            BulkActivateResponse result = versionService.bulkActivate("staging", null, "admin");
+
+            assertEquals(1, result.activated());
+            assertEquals(1, result.skipped());
+            assertEquals(BulkActivateResult.Outcome.ACTIVATED, result.results().get(1).outcome());
+            assertEquals(BulkActivateResult.Outcome.BLOCKED_BY_CHAIN, result.results().get(0).outcome());
+            assertTrue(result.errors().get(0).startsWith("auth-service v2: Cannot activate"));
+            verify(versionRepo, never()).findByEnvironmentAndServiceKeyAndApiVersion(any(), any(), any());
+            verify(versionRepo, never()).save(any());
+        }
+
+        @Test
+        void bulkActivate_reportsRowsChangedConcurrently() {
+            VersionConfig first = readyVersion("dev", "user-service", "v2");
+            VersionConfig second = readyVersion("dev", "auth-service", "v2");
+            when(versionRepo.findByEnvironmentAndApiVersionAndStatus("dev", "v2", VersionStatus.READY))
+                    .thenReturn(List.of(first, second));
+            when(versionRepo.transitionStatus(anyCollection(), eq(VersionStatus.READY), eq(VersionStatus.ACTIVE),
+                    eq("admin"), any())).thenReturn(1);
+            VersionConfig secondNow = readyVersion("dev", "auth-service", "v2");
+            secondNow.setId(second.getId());
+            secondNow.setStatus(VersionStatus.DEPRECATED);
+            VersionConfig firstNow = activeVersion("dev", "user-service", "v2");
+            firstNow.setId(first.getId());
+            when(versionRepo.findAllById(List.of(first.getId(), second.getId()))).thenReturn(List.of(firstNow, secondNow));
+
+            BulkActivateResponse result = versionService.bulkActivate("dev", "v2", "admin");
+
+            assertEquals(1, result.activated());
+            assertEquals(BulkActivateResult.Outcome.STATUS_CHANGED, result.results().get(1).outcome());
+            verify(versionRepo, never()).findByEnvironmentInAndServiceKeyInAndStatus(any(), any(), any());
+        }
+    }
 }
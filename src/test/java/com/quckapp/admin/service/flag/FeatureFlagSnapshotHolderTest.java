@@ -0,0 +1,245 @@
+package com.quckapp.admin.service.flag;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quckapp.admin.cache.CompactCacheSerializer;
+import com.quckapp.admin.domain.entity.FeatureFlag;
+import com.quckapp.admin.domain.repository.FeatureFlagRepository;
+import com.quckapp.admin.dto.AdminDtos.FeatureCheckRequest;
+import com.quckapp.admin.dto.AdminDtos.FeatureCheckResponse;
+import com.quckapp.admin.dto.AdminDtos.FeatureFlagResponse;
+import com.quckapp.admin.service.FeatureFlagService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeatureFlagSnapshotHolderTest {
+
+    @Mock
+    private FeatureFlagRepository flagRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private FeatureFlagSnapshotHolder holder;
+
+    @BeforeEach
+    void setUp() {
+        holder = new FeatureFlagSnapshotHolder(flagRepository, objectMapper, eventPublisher);
+    }
+
+    private FeatureFlag flag(String featureKey, boolean enabled) {
+        return FeatureFlag.builder()
+                .id(UUID.randomUUID())
+                .featureKey(featureKey)
+                .name(featureKey)
+                .enabled(enabled)
+                .rolloutPercentage(100)
+                .updatedAt(Instant.now())
+                .build();
+    }
+
+    private FeatureFlagSnapshotChangedEvent lastChange() {
+        ArgumentCaptor<FeatureFlagSnapshotChangedEvent> event = ArgumentCaptor.forClass(FeatureFlagSnapshotChangedEvent.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(event.capture());
+        return event.getValue();
+    }
+
+    // ===== Evaluation Tests =====
+
+    @Nested
+    class Evaluation {
+
+        @Test
+        void checkFeature_readsSnapshotWithoutDatabaseHit() {
+            when(flagRepository.findAll()).thenReturn(List.of(flag("checkout", true)));
+            holder.reload();
+            FeatureFlagService service = new FeatureFlagService(flagRepository, objectMapper, holder, eventPublisher);
+
+            FeatureCheckResponse enabled = service.checkFeature(FeatureCheckRequest.builder().featureKey("checkout").build());
+            FeatureCheckResponse missing = service.checkFeature(FeatureCheckRequest.builder().featureKey("search").build());
+
+            assertTrue(enabled.isEnabled());
+            assertFalse(missing.isEnabled());
+            assertEquals(FlagDecision.NOT_FOUND.getReason(), missing.getReason());
+            verify(flagRepository, times(1)).findAll();
+            verifyNoMoreInteractions(flagRepository);
+        }
+
+        @Test
+        void current_loadsOnceOnFirstUse() {
+            when(flagRepository.findAll()).thenReturn(List.of(flag("checkout", true)));
+
+            FeatureFlagSnapshot first = holder.current();
+            FeatureFlagSnapshot second = holder.current();
+
+            assertSame(first, second);
+            assertEquals(1L, first.revision());
+            verify(flagRepository, times(1)).findAll();
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+    }
+
+    // ===== Change Tests =====
+
+    @Nested
+    class Changes {
+
+        @Test
+        void onFlagChanged_swapsSnapshotAndAdvancesRevision() {
+            when(flagRepository.findAll()).thenReturn(List.of(flag("checkout", true)));
+            FeatureFlagSnapshot initial = holder.current();
+
+            holder.onFlagChanged(FeatureFlagChangedEvent.upserted(holder.compile(flag("checkout", false))));
+            FeatureFlagSnapshot updated = holder.current();
+            holder.onFlagChanged(FeatureFlagChangedEvent.deleted("checkout"));
+            FeatureFlagSnapshot deleted = holder.current();
+
+            assertNotSame(initial, updated);
+            assertTrue(initial.get("checkout").enabled());
+            assertFalse(updated.get("checkout").enabled());
+            assertEquals(2L, updated.revision());
+            assertEquals(3L, deleted.revision());
+            assertNull(deleted.get("checkout"));
+            FeatureFlagSnapshotChangedEvent change = lastChange();
+            assertSame(deleted, change.snapshot());
+            assertEquals(List.of(new FeatureFlagDelta(3L, FeatureFlagDelta.Type.DELETED, "checkout", null)), change.deltas());
+        }
+
+        @Test
+        void unchangedDefinition_keepsRevision() {
+            FeatureFlag row = flag("checkout", true);
+            when(flagRepository.findAll()).thenReturn(List.of(row));
+            FeatureFlagSnapshot initial = holder.current();
+
+            holder.onFlagChanged(FeatureFlagChangedEvent.upserted(holder.compile(row)));
+            holder.onFlagChanged(FeatureFlagChangedEvent.deleted("search"));
+
+            assertSame(initial, holder.current());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        void reload_publishesOneDeltaPerRevision() {
+            FeatureFlag checkout = flag("checkout", true);
+            when(flagRepository.findAll()).thenReturn(List.of(checkout, flag("search", true)));
+            holder.current();
+
+            when(flagRepository.findAll()).thenReturn(List.of(checkout, flag("search", false), flag("export", true)));
+            FeatureFlagSnapshot reloaded = holder.reload();
+
+            assertEquals(3L, reloaded.revision());
+            List<FeatureFlagDelta> deltas = lastChange().deltas();
+            assertEquals(List.of(2L, 3L), deltas.stream().map(FeatureFlagDelta::revision).toList());
+            assertSame(reloaded, holder.reload());
+        }
+
+        @Test
+        void epoch_isStablePerHolder() {
+            assertEquals(holder.getEpoch(), holder.getEpoch());
+            assertFalse(holder.getEpoch().isBlank());
+        }
+    }
+
+    // ===== Target Rule Tests =====
+
+    @Nested
+    class TargetRules {
+
+        private static final String RULES =
+                "{\"all\":[{\"attribute\":\"country\",\"op\":\"in\",\"values\":[\"US\",\"CA\"]},{\"attribute\":\"plan\",\"op\":\"eq\",\"value\":null}]}";
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void targetRulesOf_isImmutableAtEveryLevel() {
+            FeatureFlag row = flag("checkout", true);
+            row.setTargetRules(RULES);
+            when(flagRepository.findAll()).thenReturn(List.of(row));
+            holder.current();
+
+            Map<String, Object> rules = holder.targetRulesOf(row);
+            List<Object> all = (List<Object>) rules.get("all");
+            Map<String, Object> country = (Map<String, Object>) all.get(0);
+            List<Object> values = (List<Object>) country.get("values");
+
+            assertThrows(UnsupportedOperationException.class, () -> rules.put("any", List.of()));
+            assertThrows(UnsupportedOperationException.class, () -> all.add(Map.of()));
+            assertThrows(UnsupportedOperationException.class, () -> country.put("op", "eq"));
+            assertThrows(UnsupportedOperationException.class, () -> values.add("DE"));
+            assertNull(((Map<String, Object>) all.get(1)).get("value"));
+            assertEquals(List.of("US", "CA"), values);
+        }
+
+        @Test
+        void targetRulesOf_roundTripsThroughTheCacheSerializer() {
+            FeatureFlag row = flag("checkout", true);
+            row.setTargetRules(RULES);
+            FeatureFlagResponse response = FeatureFlagResponse.builder()
+                    .featureKey("checkout")
+                    .targetRules(holder.targetRulesOf(row))
+                    .build();
+            RedisSerializer<Object> serializer = CompactCacheSerializer.jsonSerializer();
+
+            assertEquals(response, serializer.deserialize(serializer.serialize(response)));
+        }
+    }
+
+    // ===== After-Commit Tests =====
+
+    @Nested
+    class AfterCommit {
+
+        @Configuration
+        @EnableTransactionManagement
+        static class ListenerConfig {
+        }
+
+        @Test
+        void changeIsAppliedOnlyWhenTheTransactionCommits() {
+            when(flagRepository.findAll()).thenReturn(List.of(flag("checkout", true)));
+            try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+                context.register(ListenerConfig.class);
+                context.registerBean(FeatureFlagSnapshotHolder.class, () -> holder);
+                context.refresh();
+                FeatureFlagSnapshot initial = holder.current();
+
+                TransactionSynchronizationManager.initSynchronization();
+                TransactionSynchronizationManager.setActualTransactionActive(true);
+                try {
+                    context.publishEvent(FeatureFlagChangedEvent.upserted(holder.compile(flag("checkout", false))));
+                    assertSame(initial, holder.current());
+
+                    TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                } finally {
+                    TransactionSynchronizationManager.setActualTransactionActive(false);
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+
+                assertEquals(2L, holder.current().revision());
+                assertFalse(holder.current().get("checkout").enabled());
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.quckapp.admin.service.flag;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FeatureFlagStreamServiceTest {
+
+    private static final String EPOCH = "e1";
+
+    private final FeatureFlagSnapshotHolder snapshotHolder = mock(FeatureFlagSnapshotHolder.class);
+    private final Deque<RecordingEmitter> nextEmitters = new ArrayDeque<>();
+    private FeatureFlagStreamService streamService;
+    private FeatureFlagSnapshot snapshot = new FeatureFlagSnapshot(1L, Map.of());
+
+    @BeforeEach
+    void setUp() {
+        when(snapshotHolder.getEpoch()).thenReturn(EPOCH);
+        when(snapshotHolder.current()).thenAnswer(invocation -> snapshot);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        streamService = new FeatureFlagStreamService(snapshotHolder, objectMapper, 60_000L, 3, 6) {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = nextEmitters.poll();
+                return emitter != null ? emitter : new RecordingEmitter();
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    /** Installs revisions {@code from..to}, each updating one flag, and publishes them like the holder does. */
+    private void publish(long from, long to) {
+        Map<String, CompiledFlag> flags = new LinkedHashMap<>(snapshot.flags());
+        List<FeatureFlagDelta> deltas = new ArrayList<>();
+        for (long revision = from; revision <= to; revision++) {
+            CompiledFlag flag = new CompiledFlag(UUID.randomUUID(), "flag-" + revision, true, 100, null,
+                null, null, TargetingRuleCompiler.compile(null), Instant.EPOCH);
+            flags.put(flag.featureKey(), flag);
+            deltas.add(new FeatureFlagDelta(revision, FeatureFlagDelta.Type.CREATED, flag.featureKey(), flag));
+        }
+        snapshot = new FeatureFlagSnapshot(to, Map.copyOf(flags));
+        streamService.onSnapshotChanged(new FeatureFlagSnapshotChangedEvent(snapshot, deltas));
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        return (RecordingEmitter) streamService.subscribe(lastEventId);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    // ===== Subscribe Tests =====
+
+    @Nested
+    class Subscribe {
+
+        @Test
+        void newSubscriber_getsSnapshotThenDeltas() throws Exception {
+            RecordingEmitter emitter = subscribe(null);
+            publish(2, 3);
+
+            await(() -> emitter.events.size() == 3);
+            assertEquals(List.of("snapshot e1:1", "flag e1:2", "flag e1:3"), emitter.events);
+        }
+
+        @Test
+        void lastEventIdInsideWindow_resumesWithMissedDeltasOnly() throws Exception {
+            publish(2, 4);
+
+            RecordingEmitter emitter = subscribe("e1:2");
+            publish(5, 5);
+
+            await(() -> emitter.events.size() == 3);
+            assertEquals(List.of("flag e1:3", "flag e1:4", "flag e1:5"), emitter.events);
+        }
+
+        @Test
+        void currentLastEventId_resumesWithoutCatchUp() throws Exception {
+            publish(2, 2);
+
+            RecordingEmitter emitter = subscribe("e1:2");
+            publish(3, 3);
+
+            await(() -> emitter.events.size() == 1);
+            assertEquals(List.of("flag e1:3"), emitter.events);
+        }
+
+        @Test
+        void lastEventIdFromOtherEpochOrPrunedWindow_fallsBackToSnapshot() throws Exception {
+            publish(2, 6);
+
+            RecordingEmitter otherEpoch = subscribe("e0:5");
+            RecordingEmitter pruned = subscribe("e1:2");
+            RecordingEmitter malformed = subscribe("garbage");
+
+            await(() -> otherEpoch.events.size() == 1 && pruned.events.size() == 1 && malformed.events.size() == 1);
+            assertEquals(List.of("snapshot e1:6"), otherEpoch.events);
+            assertEquals(List.of("snapshot e1:6"), pruned.events);
+            assertEquals(List.of("snapshot e1:6"), malformed.events);
+        }
+
+        @Test
+        void deltaAlreadyInSnapshot_isNotSentAgain() throws Exception {
+            // The holder installs revision 2 before its change event reaches the stream
+            snapshot = new FeatureFlagSnapshot(2L, Map.of());
+            RecordingEmitter emitter = subscribe(null);
+            snapshot = new FeatureFlagSnapshot(1L, Map.of());
+            publish(2, 3);
+
+            await(() -> emitter.events.size() == 2);
+            Thread.sleep(50);
+            assertEquals(List.of("snapshot e1:2", "flag e1:3"), emitter.events);
+        }
+    }
+
+    // ===== Delivery Tests =====
+
+    @Nested
+    class Delivery {
+
+        @Test
+        void failingEmitter_isRemoved() throws Exception {
+            RecordingEmitter dead = new RecordingEmitter();
+            dead.failing = true;
+            nextEmitters.add(dead);
+
+            subscribe(null);
+            RecordingEmitter alive = subscribe(null);
+            await(() -> streamService.subscriberCount() == 1);
+
+            publish(2, 2);
+            await(() -> alive.events.size() == 2);
+            assertEquals(1, streamService.subscriberCount());
+        }
+
+        @Test
+        void stalledClient_doesNotDelayOthersAndIsDroppedWhenTooFarBehind() throws Exception {
+            RecordingEmitter stalled = new RecordingEmitter();
+            stalled.blocked = new CountDownLatch(1);
+            nextEmitters.add(stalled);
+
+            subscribe(null);
+            RecordingEmitter fast = subscribe(null);
+            publish(2, 3);
+            await(() -> fast.events.size() == 3);
+            assertEquals(2, streamService.subscriberCount());
+
+            // Seven events behind with at most six pending: dropped, while one burst always fits a live client
+            publish(4, 8);
+            await(() -> fast.events.size() == 8);
+            assertEquals(1, streamService.subscriberCount());
+            stalled.blocked.countDown();
+        }
+    }
+
+    /** Records {@code "<event> <id>"} per event, can fail or block every send. */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        volatile boolean failing;
+        volatile CountDownLatch blocked;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            if (blocked != null) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            String id = null;
+            String name = null;
+            for (String line : text.toString().split("\n")) {
+                if (line.startsWith("id:")) id = line.substring(3);
+                if (line.startsWith("event:")) name = line.substring(6);
+            }
+            if (name != null) {
+                events.add(name + " " + id);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.quckapp.admin.service.flag;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetingRuleCompilerTest {
+
+    // ===== Evaluation Tests =====
+
+    @Nested
+    class Evaluation {
+
+        @Test
+        void emptyRules_matchEveryone() {
+            assertTrue(TargetingRuleCompiler.compile(null).matches(null));
+            assertTrue(TargetingRuleCompiler.compile(Map.of()).matches(Map.of()));
+        }
+
+        @Test
+        void combinators_evaluateNestedTree() {
+            TargetingRule rule = TargetingRuleCompiler.compile(Map.of("all", List.of(
+                    Map.of("attribute", "country", "op", "in", "values", List.of("US", "CA")),
+                    Map.of("any", List.of(
+                            Map.of("attribute", "plan", "op", "eq", "value", "pro"),
+                            Map.of("attribute", "seats", "op", "in", "values", List.of(50, 100)))),
+                    Map.of("not", Map.of("attribute", "email", "op", "regex", "value", "@test\\.io$")))));
+
+            assertTrue(rule.matches(Map.of("country", "US", "plan", "pro", "email", "a@quckapp.io")));
+            assertTrue(rule.matches(Map.of("country", "CA", "plan", "free", "seats", 100, "email", "b@quckapp.io")));
+            assertFalse(rule.matches(Map.of("country", "US", "plan", "pro", "email", "c@test.io")));
+            assertFalse(rule.matches(Map.of("country", "DE", "plan", "pro", "email", "a@quckapp.io")));
+        }
+
+        @Test
+        void negatedComparisons_doNotMatchMissingAttribute() {
+            TargetingRule rule = TargetingRuleCompiler.compile(
+                    Map.of("attribute", "plan", "op", "neq", "value", "free"));
+
+            assertTrue(rule.matches(Map.of("plan", "pro")));
+            assertFalse(rule.matches(Map.of("plan", "free")));
+            assertFalse(rule.matches(Map.of()));
+        }
+
+        @Test
+        void semverComparisons_followPrecedenceRules() {
+            TargetingRule gte = TargetingRuleCompiler.compile(
+                    Map.of("attribute", "appVersion", "op", "semver_gte", "value", "2.4.0"));
+
+            assertTrue(gte.matches(Map.of("appVersion", "2.4.0")));
+            assertTrue(gte.matches(Map.of("appVersion", "v2.10")));
+            assertFalse(gte.matches(Map.of("appVersion", "2.4.0-beta.2")));
+            assertFalse(gte.matches(Map.of("appVersion", "2.3.9")));
+            assertFalse(gte.matches(Map.of("appVersion", "not-a-version")));
+
+            TargetingRule lt = TargetingRuleCompiler.compile(
+                    Map.of("attribute", "appVersion", "op", "semver_lt", "value", "1.0.0-rc.1"));
+            assertTrue(lt.matches(Map.of("appVersion", "1.0.0-beta.11")));
+            assertTrue(lt.matches(Map.of("appVersion", "1.0.0-rc.0")));
+            assertFalse(lt.matches(Map.of("appVersion", "1.0.0")));
+        }
+    }
+
+    // ===== Validation Tests =====
+
+    @Nested
+    class Validation {
+
+        @Test
+        void unsupportedOp_isRejectedWithPath() {
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                    () -> TargetingRuleCompiler.compile(Map.of("any", List.of(
+                            Map.of("attribute", "plan", "op", "contains", "value", "x")))));
+
+            assertTrue(ex.getMessage().contains("$.any[0]"));
+        }
+
+        @Test
+        void invalidRegexAndVersion_areRejected() {
+            assertThrows(IllegalArgumentException.class, () -> TargetingRuleCompiler.compile(
+                    Map.of("attribute", "email", "op", "regex", "value", "([a-z")));
+            assertThrows(IllegalArgumentException.class, () -> TargetingRuleCompiler.compile(
+                    Map.of("attribute", "appVersion", "op", "semver_gt", "value", "latest")));
+        }
+
+        @Test
+        void excessiveDepth_isRejected() {
+            Map<String, Object> node = Map.of("attribute", "plan", "op", "eq", "value", "pro");
+            for (int i = 0; i < TargetingRuleCompiler.MAX_DEPTH; i++) {
+                node = Map.of("not", node);
+            }
+            Map<String, Object> tooDeep = node;
+
+            assertThrows(IllegalArgumentException.class, () -> TargetingRuleCompiler.compile(tooDeep));
+        }
+    }
+}
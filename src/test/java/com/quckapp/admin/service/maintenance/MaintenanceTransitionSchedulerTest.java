@@ -0,0 +1,117 @@
+package com.quckapp.admin.service.maintenance;
+
+import com.quckapp.admin.domain.entity.MaintenanceWindow;
+import com.quckapp.admin.domain.entity.MaintenanceWindow.MaintenanceStatus;
+import com.quckapp.admin.domain.repository.MaintenanceWindowRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the timers against H2 outside a test transaction, so the timer thread sees committed rows.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(MaintenanceTransitionScheduler.class)
+class MaintenanceTransitionSchedulerTest {
+
+    @Autowired
+    private MaintenanceTransitionScheduler scheduler;
+
+    @Autowired
+    private MaintenanceWindowRepository maintenanceRepository;
+
+    @AfterEach
+    void tearDown() {
+        maintenanceRepository.deleteAll();
+        scheduler.sweep();
+    }
+
+    private MaintenanceWindow save(Instant startTime, Instant endTime, MaintenanceStatus status) {
+        return maintenanceRepository.save(MaintenanceWindow.builder()
+            .title("Database upgrade")
+            .startTime(startTime)
+            .endTime(endTime)
+            .type(MaintenanceWindow.MaintenanceType.PLANNED)
+            .status(status)
+            .createdBy(UUID.randomUUID())
+            .build());
+    }
+
+    private Instant awaitStatus(UUID id, MaintenanceStatus status, Duration timeout) throws InterruptedException {
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            if (maintenanceRepository.findById(id).orElseThrow().getStatus() == status) return Instant.now();
+            Thread.sleep(20);
+        }
+        return fail("Window " + id + " did not reach " + status);
+    }
+
+    // ===== Timer Tests =====
+
+    @Test
+    void armedWindow_startsAndCompletesOnTime() throws InterruptedException {
+        Instant start = Instant.now().plusMillis(400);
+        Instant end = start.plusMillis(600);
+        MaintenanceWindow window = save(start, end, MaintenanceStatus.SCHEDULED);
+
+        scheduler.arm(window);
+
+        Instant started = awaitStatus(window.getId(), MaintenanceStatus.IN_PROGRESS, Duration.ofSeconds(3));
+        assertFalse(started.isBefore(start));
+        assertTrue(Duration.between(start, started).toMillis() < 1000, "started late: " + Duration.between(start, started));
+        Instant completed = awaitStatus(window.getId(), MaintenanceStatus.COMPLETED, Duration.ofSeconds(3));
+        assertTrue(Duration.between(end, completed).toMillis() < 1000, "completed late: " + Duration.between(end, completed));
+        assertEquals(0, scheduler.armedCount());
+    }
+
+    @Test
+    void cancelledWindow_isDisarmed() throws InterruptedException {
+        MaintenanceWindow window = save(Instant.now().plusMillis(300), Instant.now().plusSeconds(60), MaintenanceStatus.SCHEDULED);
+        scheduler.arm(window);
+
+        window.setStatus(MaintenanceStatus.CANCELLED);
+        scheduler.arm(maintenanceRepository.save(window));
+        Thread.sleep(500);
+
+        assertEquals(0, scheduler.armedCount());
+        assertEquals(MaintenanceStatus.CANCELLED, maintenanceRepository.findById(window.getId()).orElseThrow().getStatus());
+    }
+
+    // ===== Transition Tests =====
+
+    @Test
+    void conditionalTransition_onlyFirstWriterWins() {
+        MaintenanceWindow window = save(Instant.now(), Instant.now().plusSeconds(60), MaintenanceStatus.SCHEDULED);
+
+        assertEquals(1, maintenanceRepository.transitionStatus(window.getId(), MaintenanceStatus.SCHEDULED, MaintenanceStatus.IN_PROGRESS));
+        assertEquals(0, maintenanceRepository.transitionStatus(window.getId(), MaintenanceStatus.SCHEDULED, MaintenanceStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void sweep_appliesOverdueTransitionsAndArmsActiveWindows() {
+        MaintenanceWindow finished = save(Instant.now().minusSeconds(120), Instant.now().minusSeconds(60), MaintenanceStatus.SCHEDULED);
+        MaintenanceWindow running = save(Instant.now().minusSeconds(60), Instant.now().plusSeconds(60), MaintenanceStatus.SCHEDULED);
+        save(Instant.now().plusSeconds(60), Instant.now().plusSeconds(120), MaintenanceStatus.SCHEDULED);
+
+        scheduler.sweep();
+
+        assertEquals(MaintenanceStatus.COMPLETED, maintenanceRepository.findById(finished.getId()).orElseThrow().getStatus());
+        assertEquals(MaintenanceStatus.IN_PROGRESS, maintenanceRepository.findById(running.getId()).orElseThrow().getStatus());
+        assertEquals(2, scheduler.armedCount());
+    }
+}
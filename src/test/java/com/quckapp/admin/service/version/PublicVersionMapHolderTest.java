@@ -0,0 +1,149 @@
+package com.quckapp.admin.service.version;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.quckapp.admin.cache.CacheInvalidation;
+import com.quckapp.admin.cache.CacheInvalidationBus;
+import com.quckapp.admin.cache.RemoteCacheInvalidationEvent;
+import com.quckapp.admin.dto.VersionDtos.PublicVersionMapResponse;
+import com.quckapp.admin.dto.VersionDtos.ServiceVersionInfo;
+import com.quckapp.admin.service.VersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublicVersionMapHolderTest {
+
+    @Mock
+    private VersionService versionService;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private PublicVersionMapHolder holder;
+
+    @BeforeEach
+    void setUp() {
+        holder = new PublicVersionMapHolder(versionService, new ObjectMapper().registerModule(new JavaTimeModule()),
+                invalidationBus);
+    }
+
+    private static PublicVersionMapResponse map(String environment, String activeVersion) {
+        return new PublicVersionMapResponse(environment, "v1", Map.of(
+                "user-service", new ServiceVersionInfo(activeVersion, null, List.of(activeVersion), null)));
+    }
+
+    @Test
+    void get_materializesOnceAndServesWithoutReloading() throws Exception {
+        when(versionService.getPublicVersionMap("production")).thenReturn(map("production", "v2"));
+
+        MaterializedVersionMap first = holder.get("production");
+        MaterializedVersionMap second = holder.get("production");
+
+        assertSame(first, second);
+        verify(versionService, times(1)).getPublicVersionMap("production");
+        assertTrue(first.matches(first.etag()));
+        assertTrue(first.matches("\"other\", " + first.gzipEtag()));
+        assertFalse(first.matches("\"other\""));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first.gzipped()))) {
+            assertArrayEquals(first.json(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void localChange_rebuildsAndAnnouncesToOtherReplicas() {
+        when(versionService.getPublicVersionMap("production"))
+                .thenReturn(map("production", "v2"), map("production", "v2"), map("production", "v3"));
+        MaterializedVersionMap initial = holder.get("production");
+
+        // Same content: bytes and ETag are kept
+        holder.onVersionMapChanged(new VersionMapChangedEvent("production"));
+        assertSame(initial, holder.get("production"));
+
+        holder.onVersionMapChanged(new VersionMapChangedEvent("production"));
+        MaterializedVersionMap changed = holder.get("production");
+        assertNotEquals(initial.etag(), changed.etag());
+        assertEquals("v3", changed.map().services().get("user-service").activeVersion());
+        verify(invalidationBus, times(2)).publish(new CacheInvalidation(PublicVersionMapHolder.CACHE_NAME, "production"));
+    }
+
+    @Test
+    void remoteInvalidation_rebuildsNamedEnvironment() {
+        when(versionService.getPublicVersionMap("staging"))
+                .thenReturn(map("staging", "v2"), map("staging", "v3"));
+        holder.get("staging");
+
+        holder.onRemoteInvalidation(new RemoteCacheInvalidationEvent(
+                List.of(new CacheInvalidation(PublicVersionMapHolder.CACHE_NAME, "staging")), false));
+
+        assertEquals("v3", holder.get("staging").map().services().get("user-service").activeVersion());
+    }
+
+    @Test
+    void unknownEnvironmentWithoutVersions_isNotRetained() {
+        when(versionService.getPublicVersionMap("no-such-env"))
+                .thenReturn(new PublicVersionMapResponse("no-such-env", "v1", Map.of()));
+
+        holder.get("no-such-env");
+
+        assertFalse(holder.environments().contains("no-such-env"));
+    }
+
+    @Test
+    void unknownEnvironment_isLoadedOnceUntilItChanges() {
+        when(versionService.getPublicVersionMap("nope"))
+                .thenReturn(new PublicVersionMapResponse("nope", "v1", Map.of()), map("nope", "v1"));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(holder.get("nope").map().services().isEmpty());
+        }
+        verify(versionService, times(1)).getPublicVersionMap("nope");
+
+        holder.onVersionMapChanged(new VersionMapChangedEvent("nope"));
+
+        assertEquals("v1", holder.get("nope").map().services().get("user-service").activeVersion());
+        verify(versionService, times(2)).getPublicVersionMap("nope");
+    }
+
+    @Test
+    void firstLoadRacingARebuild_isServedButNotKept() {
+        PublicVersionMapResponse empty = new PublicVersionMapResponse("nope", "v1", Map.of());
+        when(versionService.getPublicVersionMap("nope")).thenAnswer(invocation -> {
+            // The versions were just deleted: the rebuild reads the empty map, this load the old one
+            holder.onVersionMapChanged(new VersionMapChangedEvent("nope"));
+            return map("nope", "v1");
+        }).thenReturn(empty, empty);
+
+        assertEquals("v1", holder.get("nope").map().services().get("user-service").activeVersion());
+        assertFalse(holder.environments().contains("nope"));
+
+        assertTrue(holder.get("nope").map().services().isEmpty());
+        assertTrue(holder.get("nope").map().services().isEmpty());
+        verify(versionService, times(3)).getPublicVersionMap("nope");
+    }
+
+    @Test
+    void emptyFirstLoadRacingARebuild_isNotCached() {
+        PublicVersionMapResponse empty = new PublicVersionMapResponse("nope", "v1", Map.of());
+        when(versionService.getPublicVersionMap("nope")).thenAnswer(invocation -> {
+            holder.onVersionMapChanged(new VersionMapChangedEvent("nope"));
+            return empty;
+        }).thenReturn(empty, map("nope", "v2"));
+
+        assertTrue(holder.get("nope").map().services().isEmpty());
+
+        assertEquals("v2", holder.get("nope").map().services().get("user-service").activeVersion());
+        verify(versionService, times(3)).getPublicVersionMap("nope");
+    }
+}